@@ -0,0 +1,31 @@
+package com.finpro.FinancePro.Controller;
+
+import com.finpro.FinancePro.dto.Response.DashboardDTO;
+import com.finpro.FinancePro.exception.CustomAccessDeniedException;
+import com.finpro.FinancePro.security.SecurityUtils;
+import com.finpro.FinancePro.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/dashboard")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    // Budget, goal progress, portfolio and recent transactions for the current user in one call
+    @GetMapping
+    public ResponseEntity<DashboardDTO> getCurrentUserDashboard() {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+        if (currentUserId == null) {
+            throw new CustomAccessDeniedException("User must be authenticated");
+        }
+
+        DashboardDTO dashboard = dashboardService.getDashboard(currentUserId);
+        return ResponseEntity.ok(dashboard);
+    }
+}
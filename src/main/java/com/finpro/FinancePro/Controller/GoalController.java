@@ -3,6 +3,7 @@ package com.finpro.FinancePro.Controller;
 import com.finpro.FinancePro.dto.Request.CreateGoalDTO;
 import com.finpro.FinancePro.dto.Request.UpdateGoalDTO;
 import com.finpro.FinancePro.dto.Response.GoalProgressDTO;
+import com.finpro.FinancePro.dto.Response.GoalRepairResultDTO;
 import com.finpro.FinancePro.dto.Response.GoalResponseDTO;
 import com.finpro.FinancePro.exception.CustomAccessDeniedException;
 import com.finpro.FinancePro.security.SecurityUtils;
@@ -69,4 +70,16 @@ public class GoalController {
         GoalProgressDTO progress = goalService.calculateGoalProgressByUserId(currentUserId);
         return ResponseEntity.ok(progress);
     }
+
+    // Recompute the current user's goal progress from scratch and report any drift
+    @PostMapping("/repair")
+    public ResponseEntity<GoalRepairResultDTO> repairCurrentUserGoal() {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+        if (currentUserId == null) {
+            throw new CustomAccessDeniedException("User must be authenticated");
+        }
+
+        GoalRepairResultDTO result = goalService.repairGoalProjection(currentUserId);
+        return ResponseEntity.ok(result);
+    }
 }
\ No newline at end of file
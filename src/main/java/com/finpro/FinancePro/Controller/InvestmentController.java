@@ -3,8 +3,12 @@ package com.finpro.FinancePro.Controller;
 import com.finpro.FinancePro.dto.Request.CreateInvestmentDTO;
 import com.finpro.FinancePro.dto.Request.UpdateInvestmentDTO;
 import com.finpro.FinancePro.dto.Response.InvestmentResponseDTO;
+import com.finpro.FinancePro.dto.Response.PortfolioPerformanceDTO;
+import com.finpro.FinancePro.dto.Response.QuoteResultDTO;
 import com.finpro.FinancePro.dto.Response.StockQuoteDTO;
+import com.finpro.FinancePro.dto.Response.SymbolDTO;
 import com.finpro.FinancePro.exception.CustomAccessDeniedException;
+import com.finpro.FinancePro.exception.ResourceNotFoundException;
 import com.finpro.FinancePro.exception.StockApiException;
 import com.finpro.FinancePro.security.SecurityUtils;
 import com.finpro.FinancePro.service.InvestmentService;
@@ -14,7 +18,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/investments")
@@ -77,13 +80,13 @@ public class InvestmentController {
     }
 
     @GetMapping("/user/{userId}/portfolio")
-    public ResponseEntity<Map<String, Double>> getPortfolioPerformance(@PathVariable Long userId) {
+    public ResponseEntity<PortfolioPerformanceDTO> getPortfolioPerformance(@PathVariable Long userId) {
         // Check if the current user is authorized to view this portfolio
         if (!SecurityUtils.isCurrentUserOrAdmin(userId)) {
             throw new CustomAccessDeniedException("You are not authorized to view portfolio performance for this user");
         }
 
-        Map<String, Double> performance = investmentService.calculatePortfolioPerformance(userId);
+        PortfolioPerformanceDTO performance = investmentService.calculatePortfolioPerformance(userId);
         return ResponseEntity.ok(performance);
     }
 
@@ -96,14 +99,13 @@ public class InvestmentController {
 
         try {
             // Validate stock symbol first
-            StockQuoteDTO quote = investmentService.getStockQuote(createDTO.getSymbol());
-            if (quote == null) {
-                return ResponseEntity.badRequest()
-                        .body("Invalid stock symbol: " + createDTO.getSymbol());
-            }
+            investmentService.validateSymbol(createDTO.getSymbol());
 
             InvestmentResponseDTO investment = investmentService.createInvestment(createDTO);
             return ResponseEntity.ok(investment);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.badRequest()
+                    .body("Invalid stock symbol: " + createDTO.getSymbol());
         } catch (StockApiException e) {
             return ResponseEntity.status(503)
                     .body("Unable to verify stock symbol due to API issues: " + e.getMessage());
@@ -113,6 +115,20 @@ public class InvestmentController {
         }
     }
 
+    @GetMapping("/symbols")
+    public ResponseEntity<List<SymbolDTO>> searchSymbols(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<SymbolDTO> symbols = investmentService.searchSymbols(prefix, Math.min(limit, 50));
+        return ResponseEntity.ok(symbols);
+    }
+
+    @GetMapping("/stock")
+    public ResponseEntity<List<QuoteResultDTO>> getStockQuotes(@RequestParam List<String> symbols) {
+        List<QuoteResultDTO> quotes = investmentService.getStockQuotes(symbols);
+        return ResponseEntity.ok(quotes);
+    }
+
     @GetMapping("/stock/{symbol}")
     public ResponseEntity<?> getStockQuote(@PathVariable String symbol) {
         try {
@@ -1,10 +1,14 @@
 package com.finpro.FinancePro.Controller;
 
+import com.finpro.FinancePro.dto.Request.CreateTransactionBatchDTO;
 import com.finpro.FinancePro.dto.Request.CreateTransactionDTO;
 import com.finpro.FinancePro.dto.Request.UpdateTransactionDTO;
+import com.finpro.FinancePro.dto.Response.TransactionBatchResponseDTO;
+import com.finpro.FinancePro.dto.Response.TransactionPageDTO;
 import com.finpro.FinancePro.dto.Response.TransactionResponseDTO;
 import com.finpro.FinancePro.entity.Transaction;
 import com.finpro.FinancePro.exception.CustomAccessDeniedException;
+import com.finpro.FinancePro.exception.InvalidRequestException;
 import com.finpro.FinancePro.exception.ResourceNotFoundException;
 import com.finpro.FinancePro.repository.TransactionRepository;
 import com.finpro.FinancePro.repository.UserRepository;
@@ -12,9 +16,12 @@ import com.finpro.FinancePro.security.SecurityUtils;
 import com.finpro.FinancePro.service.TransactionService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -84,6 +91,58 @@ public class TransactionController {
         return ResponseEntity.ok(transactions);
     }
 
+    // Get one page of transactions using a keyset cursor, with optional filters
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<TransactionPageDTO> getTransactionsPage(
+            @PathVariable Long userId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "minAmount", required = false) Double minAmount,
+            @RequestParam(value = "maxAmount", required = false) Double maxAmount,
+            @RequestParam(value = "startDate", required = false) LocalDateTime startDate,
+            @RequestParam(value = "endDate", required = false) LocalDateTime endDate) {
+
+        // Check if the current user is authorized to access these transactions
+        if (!SecurityUtils.isCurrentUserOrAdmin(userId)) {
+            throw new CustomAccessDeniedException("You are not authorized to view these transactions");
+        }
+
+        TransactionPageDTO page = transactionService.getTransactionsPage(userId, cursor, size, type, category,
+                minAmount, maxAmount, startDate, endDate);
+        return ResponseEntity.ok(page);
+    }
+
+    // Export all transactions of a user as CSV or NDJSON, streamed straight from the database
+    @GetMapping("/user/{userId}/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @PathVariable Long userId,
+            @RequestParam(value = "format", defaultValue = "csv") String format) {
+
+        // Check if the current user is authorized to access these transactions
+        if (!SecurityUtils.isCurrentUserOrAdmin(userId)) {
+            throw new CustomAccessDeniedException("You are not authorized to export these transactions");
+        }
+
+        String exportFormat = format.toLowerCase();
+        MediaType mediaType;
+        if ("csv".equals(exportFormat)) {
+            mediaType = new MediaType("text", "csv");
+        } else if ("ndjson".equals(exportFormat)) {
+            mediaType = new MediaType("application", "x-ndjson");
+        } else {
+            throw new InvalidRequestException("Unsupported export format: " + format + ". Use csv or ndjson.");
+        }
+
+        StreamingResponseBody body = outputStream -> transactionService.exportTransactions(userId, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions-" + userId + "." + exportFormat + "\"")
+                .body(body);
+    }
+
     // Create a new transaction
     @PostMapping
     public ResponseEntity<TransactionResponseDTO> createTransaction(@Valid @RequestBody CreateTransactionDTO createTransactionDTO) {
@@ -96,6 +155,18 @@ public class TransactionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(transactionResponse);
     }
 
+    // Create many transactions for one user in a single request
+    @PostMapping("/batch")
+    public ResponseEntity<TransactionBatchResponseDTO> createTransactionsBatch(@Valid @RequestBody CreateTransactionBatchDTO batchDTO) {
+        // Check if the current user is authorized to create transactions for this user
+        if (!SecurityUtils.isCurrentUserOrAdmin(batchDTO.getUserId())) {
+            throw new CustomAccessDeniedException("You are not authorized to create transactions for this user");
+        }
+
+        TransactionBatchResponseDTO batchResponse = transactionService.createTransactionsBatch(batchDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(batchResponse);
+    }
+
     // Update an existing transaction
     @PutMapping("/user/{userId}")
     public ResponseEntity<TransactionResponseDTO> updateTransaction(
@@ -1,25 +1,10 @@
 package com.finpro.FinancePro.config;
 
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
-import org.springframework.web.client.RestTemplate;
-
-import java.time.Duration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+// The RestTemplate used for market data is defined in HttpClientConfig
 @Configuration
+@EnableScheduling
 public class AppConfig {
-    @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(5000);
-        factory.setReadTimeout(5000);
-
-        return builder
-                .requestFactory(()-> factory)
-                .setConnectTimeout(Duration.ofSeconds(5))
-                .setReadTimeout(Duration.ofSeconds(5))
-                .build();
-    }
 }
@@ -0,0 +1,35 @@
+package com.finpro.FinancePro.config;
+
+import com.finpro.FinancePro.service.quote.AlphaVantageQuoteProvider;
+import com.finpro.FinancePro.service.quote.MockQuoteProvider;
+import com.finpro.FinancePro.service.quote.QuoteProvider;
+import com.finpro.FinancePro.service.quote.RecordingQuoteProvider;
+import com.finpro.FinancePro.service.quote.ReplayQuoteProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+// Picks the quote provider InvestmentService uses: alphavantage (default), mock, record or replay.
+// stock.quote.use.mock=true is still honoured and selects mock.
+@Configuration
+public class QuoteProviderConfig {
+
+    @Bean
+    @Primary
+    public QuoteProvider quoteProvider(@Value("${stock.quote.provider:alphavantage}") String provider,
+                                       @Value("${stock.quote.use.mock:false}") boolean useMockData,
+                                       AlphaVantageQuoteProvider alphaVantageQuoteProvider,
+                                       MockQuoteProvider mockQuoteProvider,
+                                       RecordingQuoteProvider recordingQuoteProvider,
+                                       ReplayQuoteProvider replayQuoteProvider) {
+        String selected = useMockData ? mockQuoteProvider.getName() : provider;
+        return switch (selected) {
+            case "alphavantage" -> alphaVantageQuoteProvider;
+            case "mock" -> mockQuoteProvider;
+            case "record" -> recordingQuoteProvider;
+            case "replay" -> replayQuoteProvider;
+            default -> throw new IllegalStateException("Unknown stock.quote.provider: " + provider);
+        };
+    }
+}
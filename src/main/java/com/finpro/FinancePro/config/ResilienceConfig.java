@@ -0,0 +1,33 @@
+package com.finpro.FinancePro.config;
+
+import com.finpro.FinancePro.util.Bulkhead;
+import com.finpro.FinancePro.util.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Protection around the Alpha Vantage integration: the breaker fails fast while the API is unhealthy,
+// the bulkhead bounds how many request threads can be waiting on it at once.
+@Configuration
+public class ResilienceConfig {
+
+    @Bean
+    public CircuitBreaker alphaVantageCircuitBreaker(
+            @Value("${alphavantage.breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${alphavantage.breaker.slow-call-ms:3000}") long slowCallMs,
+            @Value("${alphavantage.breaker.open-duration-ms:30000}") long openDurationMs,
+            @Value("${alphavantage.breaker.half-open-probes:1}") int halfOpenProbes,
+            MeterRegistry meterRegistry) {
+        return new CircuitBreaker("alphaVantage", failureThreshold, slowCallMs, openDurationMs, halfOpenProbes,
+                meterRegistry);
+    }
+
+    @Bean
+    public Bulkhead alphaVantageBulkhead(
+            @Value("${alphavantage.bulkhead.max-concurrent:4}") int maxConcurrentCalls,
+            @Value("${alphavantage.bulkhead.max-wait-ms:100}") long maxWaitMs,
+            MeterRegistry meterRegistry) {
+        return new Bulkhead("alphaVantage", maxConcurrentCalls, maxWaitMs, meterRegistry);
+    }
+}
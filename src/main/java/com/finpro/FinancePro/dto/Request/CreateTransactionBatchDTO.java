@@ -0,0 +1,35 @@
+package com.finpro.FinancePro.dto.Request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class CreateTransactionBatchDTO {
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    @NotEmpty(message = "At least one transaction is required")
+    @Size(max = 10000, message = "A batch can contain at most 10000 transactions")
+    @Valid
+    private List<TransactionBatchItemDTO> transactions;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public List<TransactionBatchItemDTO> getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(List<TransactionBatchItemDTO> transactions) {
+        this.transactions = transactions;
+    }
+}
@@ -0,0 +1,51 @@
+package com.finpro.FinancePro.dto.Request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+public class TransactionBatchItemDTO {
+
+    @NotNull(message = "Category is required")
+    private String category;
+
+    @NotNull(message = "Amount is required")
+    private Double amount;
+
+    @NotNull(message = "Type is required")
+    @Pattern(regexp = "(?i)INCOME|EXPENSE", message = "Type must be INCOME or EXPENSE")
+    private String type;
+
+    private String description;
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public Double getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Double amount) {
+        this.amount = amount;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
@@ -0,0 +1,70 @@
+package com.finpro.FinancePro.dto.Response;
+
+import java.util.List;
+import java.util.Map;
+
+public class DashboardDTO {
+    private double incomeTotal;
+    private double expenseTotal;
+    private BudgetResponseDTO budget;              // null if the section failed
+    private GoalProgressDTO goalProgress;          // null if the section failed
+    private PortfolioPerformanceDTO portfolio;     // null if the section failed or timed out
+    private List<TransactionResponseDTO> recentTransactions;
+    private Map<String, String> sectionErrors;     // section name -> reason it is missing
+
+    public double getIncomeTotal() {
+        return incomeTotal;
+    }
+
+    public void setIncomeTotal(double incomeTotal) {
+        this.incomeTotal = incomeTotal;
+    }
+
+    public double getExpenseTotal() {
+        return expenseTotal;
+    }
+
+    public void setExpenseTotal(double expenseTotal) {
+        this.expenseTotal = expenseTotal;
+    }
+
+    public BudgetResponseDTO getBudget() {
+        return budget;
+    }
+
+    public void setBudget(BudgetResponseDTO budget) {
+        this.budget = budget;
+    }
+
+    public GoalProgressDTO getGoalProgress() {
+        return goalProgress;
+    }
+
+    public void setGoalProgress(GoalProgressDTO goalProgress) {
+        this.goalProgress = goalProgress;
+    }
+
+    public PortfolioPerformanceDTO getPortfolio() {
+        return portfolio;
+    }
+
+    public void setPortfolio(PortfolioPerformanceDTO portfolio) {
+        this.portfolio = portfolio;
+    }
+
+    public List<TransactionResponseDTO> getRecentTransactions() {
+        return recentTransactions;
+    }
+
+    public void setRecentTransactions(List<TransactionResponseDTO> recentTransactions) {
+        this.recentTransactions = recentTransactions;
+    }
+
+    public Map<String, String> getSectionErrors() {
+        return sectionErrors;
+    }
+
+    public void setSectionErrors(Map<String, String> sectionErrors) {
+        this.sectionErrors = sectionErrors;
+    }
+}
@@ -0,0 +1,40 @@
+package com.finpro.FinancePro.dto.Response;
+
+public class GoalRepairResultDTO {
+    private Long userId;
+    private double storedAmount;     // Materialized value before the repair
+    private double recomputedAmount; // Value recomputed from transactions and budget
+    private double drift;            // recomputedAmount - storedAmount
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public double getStoredAmount() {
+        return storedAmount;
+    }
+
+    public void setStoredAmount(double storedAmount) {
+        this.storedAmount = storedAmount;
+    }
+
+    public double getRecomputedAmount() {
+        return recomputedAmount;
+    }
+
+    public void setRecomputedAmount(double recomputedAmount) {
+        this.recomputedAmount = recomputedAmount;
+    }
+
+    public double getDrift() {
+        return drift;
+    }
+
+    public void setDrift(double drift) {
+        this.drift = drift;
+    }
+}
@@ -0,0 +1,61 @@
+package com.finpro.FinancePro.dto.Response;
+
+import java.util.List;
+import java.util.Map;
+
+public class PortfolioPerformanceDTO {
+    private double totalInvested;
+    private double currentValue;     // only includes priced symbols
+    private double profitLoss;
+    private double returnPercentage;
+    private Map<String, QuoteSource> quoteSources;
+    private List<String> unpricedSymbols;   // no quote within the deadline and none cached; excluded from the totals
+
+    public double getTotalInvested() {
+        return totalInvested;
+    }
+
+    public void setTotalInvested(double totalInvested) {
+        this.totalInvested = totalInvested;
+    }
+
+    public double getCurrentValue() {
+        return currentValue;
+    }
+
+    public void setCurrentValue(double currentValue) {
+        this.currentValue = currentValue;
+    }
+
+    public double getProfitLoss() {
+        return profitLoss;
+    }
+
+    public void setProfitLoss(double profitLoss) {
+        this.profitLoss = profitLoss;
+    }
+
+    public double getReturnPercentage() {
+        return returnPercentage;
+    }
+
+    public void setReturnPercentage(double returnPercentage) {
+        this.returnPercentage = returnPercentage;
+    }
+
+    public Map<String, QuoteSource> getQuoteSources() {
+        return quoteSources;
+    }
+
+    public void setQuoteSources(Map<String, QuoteSource> quoteSources) {
+        this.quoteSources = quoteSources;
+    }
+
+    public List<String> getUnpricedSymbols() {
+        return unpricedSymbols;
+    }
+
+    public void setUnpricedSymbols(List<String> unpricedSymbols) {
+        this.unpricedSymbols = unpricedSymbols;
+    }
+}
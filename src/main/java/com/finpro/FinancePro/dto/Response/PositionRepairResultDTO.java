@@ -0,0 +1,31 @@
+package com.finpro.FinancePro.dto.Response;
+
+public class PositionRepairResultDTO {
+    private Long userId;
+    private int positionsChecked;  // Symbols present in the lots or the stored positions
+    private int positionsDrifted;  // Symbols whose stored position did not match the lots
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public int getPositionsChecked() {
+        return positionsChecked;
+    }
+
+    public void setPositionsChecked(int positionsChecked) {
+        this.positionsChecked = positionsChecked;
+    }
+
+    public int getPositionsDrifted() {
+        return positionsDrifted;
+    }
+
+    public void setPositionsDrifted(int positionsDrifted) {
+        this.positionsDrifted = positionsDrifted;
+    }
+}
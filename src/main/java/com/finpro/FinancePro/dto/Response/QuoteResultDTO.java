@@ -0,0 +1,49 @@
+package com.finpro.FinancePro.dto.Response;
+
+public class QuoteResultDTO {
+    private String symbol;
+    private QuoteStatus status;
+    private QuoteSource source;   // Only set when status is OK
+    private StockQuoteDTO quote;  // Only set when status is OK
+    private String error;
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public QuoteStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(QuoteStatus status) {
+        this.status = status;
+    }
+
+    public QuoteSource getSource() {
+        return source;
+    }
+
+    public void setSource(QuoteSource source) {
+        this.source = source;
+    }
+
+    public StockQuoteDTO getQuote() {
+        return quote;
+    }
+
+    public void setQuote(StockQuoteDTO quote) {
+        this.quote = quote;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
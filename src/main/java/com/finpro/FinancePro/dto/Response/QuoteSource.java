@@ -0,0 +1,8 @@
+package com.finpro.FinancePro.dto.Response;
+
+// Where a quote used in a response came from
+public enum QuoteSource {
+    CACHE,  // fresh cache entry
+    FRESH,  // fetched from the provider for this request
+    STALE   // past the cache TTL, served while a refresh runs or because the provider failed
+}
@@ -0,0 +1,9 @@
+package com.finpro.FinancePro.dto.Response;
+
+// Outcome of one symbol in a batch quote request
+public enum QuoteStatus {
+    OK,           // quote included
+    NOT_FOUND,    // the provider does not know the symbol
+    UNAVAILABLE,  // provider failure, rate limit or open circuit, and nothing cached
+    TIMEOUT       // not resolved by the batch deadline; the fetch continues and will be cached
+}
@@ -1,5 +1,7 @@
 package com.finpro.FinancePro.dto.Response;
 
+import java.time.Instant;
+
 public class StockQuoteDTO {
 
     private String symbol;
@@ -9,6 +11,7 @@ public class StockQuoteDTO {
     private Double high;
     private Double low;
     private Long volume;
+    private Instant asOf;   // when the quote was fetched from the provider
 
     public String getSymbol() {
         return symbol;
@@ -65,4 +68,12 @@ public class StockQuoteDTO {
     public void setVolume(Long volume) {
         this.volume = volume;
     }
+
+    public Instant getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(Instant asOf) {
+        this.asOf = asOf;
+    }
 }
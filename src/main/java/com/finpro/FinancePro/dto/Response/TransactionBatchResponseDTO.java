@@ -0,0 +1,40 @@
+package com.finpro.FinancePro.dto.Response;
+
+public class TransactionBatchResponseDTO {
+    private Long userId;
+    private int insertedCount;
+    private double incomeTotal;
+    private double expenseTotal;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public int getInsertedCount() {
+        return insertedCount;
+    }
+
+    public void setInsertedCount(int insertedCount) {
+        this.insertedCount = insertedCount;
+    }
+
+    public double getIncomeTotal() {
+        return incomeTotal;
+    }
+
+    public void setIncomeTotal(double incomeTotal) {
+        this.incomeTotal = incomeTotal;
+    }
+
+    public double getExpenseTotal() {
+        return expenseTotal;
+    }
+
+    public void setExpenseTotal(double expenseTotal) {
+        this.expenseTotal = expenseTotal;
+    }
+}
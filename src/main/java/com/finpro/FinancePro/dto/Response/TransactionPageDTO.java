@@ -0,0 +1,42 @@
+package com.finpro.FinancePro.dto.Response;
+
+import java.util.List;
+
+public class TransactionPageDTO {
+    private List<TransactionResponseDTO> transactions;
+    private String nextCursor; // null when there are no more pages
+    private boolean hasMore;
+    private int size;
+
+    public List<TransactionResponseDTO> getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(List<TransactionResponseDTO> transactions) {
+        this.transactions = transactions;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
@@ -0,0 +1,44 @@
+package com.finpro.FinancePro.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// Which node is currently running a cluster-wide scheduled job, until expiresAt
+@Entity
+@Table(name = "job_lease")
+public class JobLease {
+
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,83 @@
+package com.finpro.FinancePro.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// A user's holding in one symbol, aggregated over all of their Investment lots
+@Entity
+@Table(name = "investment_position", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_position_user_symbol", columnNames = {"user_id", "symbol"})
+})
+public class Position {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore // Prevent infinite recursion
+    private User user;
+
+    @Column(nullable = false)
+    private String symbol;
+
+    @Column(nullable = false)
+    private double quantity;
+
+    @Column(name = "cost_basis", nullable = false)
+    private double costBasis;  // Sum of quantity * purchasePrice over the lots
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public double getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(double quantity) {
+        this.quantity = quantity;
+    }
+
+    public double getCostBasis() {
+        return costBasis;
+    }
+
+    public void setCostBasis(double costBasis) {
+        this.costBasis = costBasis;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,56 @@
+package com.finpro.FinancePro.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// Which node is currently allowed to fetch a symbol from the quote provider, until expiresAt. When the
+// provider reports the symbol unknown the owner keeps the lease and records the answer for the other nodes.
+@Entity
+@Table(name = "quote_fetch_lease")
+public class QuoteFetchLease {
+
+    @Id
+    private String symbol;
+
+    @Column(nullable = false)
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "not_found_message", length = 500)
+    private String notFoundMessage;
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public String getNotFoundMessage() {
+        return notFoundMessage;
+    }
+
+    public void setNotFoundMessage(String notFoundMessage) {
+        this.notFoundMessage = notFoundMessage;
+    }
+}
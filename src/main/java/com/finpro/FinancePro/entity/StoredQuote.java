@@ -0,0 +1,93 @@
+package com.finpro.FinancePro.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// Last quote fetched for a symbol by any node; the shared second-level cache behind each node's QuoteCache
+@Entity
+@Table(name = "stored_quote", indexes = {
+        @Index(name = "idx_stored_quote_fetched_at", columnList = "fetched_at")
+})
+public class StoredQuote {
+
+    @Id
+    private String symbol;
+
+    private Double currentPrice;
+
+    @Column(name = "price_change")
+    private Double change;
+
+    private Double changePercent;
+    private Double high;
+    private Double low;
+    private Long volume;
+
+    @Column(name = "fetched_at", nullable = false)
+    private Instant fetchedAt;
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public Double getCurrentPrice() {
+        return currentPrice;
+    }
+
+    public void setCurrentPrice(Double currentPrice) {
+        this.currentPrice = currentPrice;
+    }
+
+    public Double getChange() {
+        return change;
+    }
+
+    public void setChange(Double change) {
+        this.change = change;
+    }
+
+    public Double getChangePercent() {
+        return changePercent;
+    }
+
+    public void setChangePercent(Double changePercent) {
+        this.changePercent = changePercent;
+    }
+
+    public Double getHigh() {
+        return high;
+    }
+
+    public void setHigh(Double high) {
+        this.high = high;
+    }
+
+    public Double getLow() {
+        return low;
+    }
+
+    public void setLow(Double low) {
+        this.low = low;
+    }
+
+    public Long getVolume() {
+        return volume;
+    }
+
+    public void setVolume(Long volume) {
+        this.volume = volume;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public void setFetchedAt(Instant fetchedAt) {
+        this.fetchedAt = fetchedAt;
+    }
+}
@@ -7,6 +7,10 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_transaction_user_type", columnList = "user_id, type"),
+        @Index(name = "idx_transaction_user_created", columnList = "user_id, created_at, id")
+})
 public class Transaction {
 
     @Id
@@ -46,6 +46,10 @@ public class User {
     @JsonIgnore // Prevent infinite recursion
     private List<Investment> investments;
 
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    @JsonIgnore // Prevent infinite recursion
+    private List<Position> positions;
+
     public Long getId() {
         return id;
     }
@@ -118,6 +122,14 @@ public class User {
         this.investments = investments;
     }
 
+    public List<Position> getPositions() {
+        return positions;
+    }
+
+    public void setPositions(List<Position> positions) {
+        this.positions = positions;
+    }
+
     public Goal getGoal() {
         return goal;
     }
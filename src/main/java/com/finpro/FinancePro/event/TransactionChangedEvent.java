@@ -0,0 +1,27 @@
+package com.finpro.FinancePro.event;
+
+// Published by TransactionService inside the writing transaction whenever a user's income or expense totals change
+public class TransactionChangedEvent {
+
+    private final Long userId;
+    private final double incomeDelta;
+    private final double expenseDelta;
+
+    public TransactionChangedEvent(Long userId, double incomeDelta, double expenseDelta) {
+        this.userId = userId;
+        this.incomeDelta = incomeDelta;
+        this.expenseDelta = expenseDelta;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public double getIncomeDelta() {
+        return incomeDelta;
+    }
+
+    public double getExpenseDelta() {
+        return expenseDelta;
+    }
+}
@@ -0,0 +1,8 @@
+package com.finpro.FinancePro.exception;
+
+// The quote provider refused the request because its quota is used up; the provider itself is healthy
+public class QuoteThrottledException extends StockApiException {
+    public QuoteThrottledException(String message) {
+        super(message);
+    }
+}
@@ -1,9 +1,15 @@
 package com.finpro.FinancePro.repository;
 
 import com.finpro.FinancePro.entity.Budget;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,4 +17,14 @@ import java.util.Optional;
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
     Optional<Budget> findByUserId(Long userId);
     Optional<Budget> findByUserIdAndPeriod(Long userId, String period);
+
+    // Row lock held until commit, so atomic increments can't land between a recompute and its write
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Budget b WHERE b.id = :id")
+    Optional<Budget> findByIdForUpdate(@Param("id") Long id);
+
+    // Add a delta to the spent amount in a single UPDATE; returns the number of budgets changed (0 or 1)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Budget b SET b.spentAmount = b.spentAmount + :delta, b.updatedAt = :now WHERE b.user.id = :userId")
+    int incrementSpentAmount(@Param("userId") Long userId, @Param("delta") double delta, @Param("now") LocalDateTime now);
 }
@@ -1,12 +1,34 @@
 package com.finpro.FinancePro.repository;
 
 import com.finpro.FinancePro.entity.Goal;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface GoalRepository extends JpaRepository<Goal, Long> {
     Optional<Goal> findByUserId(Long userId);
-}
\ No newline at end of file
+
+    // Locks the goal row so a rebuild cannot interleave with incremental updates
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT g FROM Goal g WHERE g.user.id = :userId")
+    Optional<Goal> findByUserIdForUpdate(@Param("userId") Long userId);
+
+    // Apply a delta to the materialized current amount in a single UPDATE
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Goal g SET g.currentAmount = g.currentAmount + :delta, g.updatedAt = :now WHERE g.user.id = :userId")
+    int incrementCurrentAmount(@Param("userId") Long userId, @Param("delta") double delta, @Param("now") LocalDateTime now);
+
+    // User IDs that have a goal, in keyset pages, for the repair job
+    @Query("SELECT g.user.id FROM Goal g WHERE g.user.id > :afterUserId ORDER BY g.user.id")
+    List<Long> findUserIdsAfter(@Param("afterUserId") Long afterUserId, Pageable pageable);
+}
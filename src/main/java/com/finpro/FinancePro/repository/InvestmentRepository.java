@@ -2,6 +2,8 @@ package com.finpro.FinancePro.repository;
 
 import com.finpro.FinancePro.entity.Investment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +11,16 @@ import java.util.List;
 @Repository
 public interface InvestmentRepository extends JpaRepository<Investment, Long> {
     List<Investment> findByUserId(Long userId);
+
+    // Quantity and cost basis per symbol straight from the lots, for rebuilding positions
+    @Query("SELECT i.symbol AS symbol, SUM(i.quantity) AS quantity, SUM(i.quantity * i.purchasePrice) AS costBasis " +
+            "FROM Investment i WHERE i.user.id = :userId AND i.symbol IS NOT NULL GROUP BY i.symbol")
+    List<SymbolTotal> sumBySymbol(@Param("userId") Long userId);
+
+    // Projection for the aggregate query above
+    interface SymbolTotal {
+        String getSymbol();
+        Double getQuantity();
+        Double getCostBasis();
+    }
 }
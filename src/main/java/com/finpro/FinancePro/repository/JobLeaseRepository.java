@@ -0,0 +1,27 @@
+package com.finpro.FinancePro.repository;
+
+import com.finpro.FinancePro.entity.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    // Takes the lease if nobody holds it, it has expired, or we already hold it; returns 1 when we own it
+    @Modifying
+    @Query(value = "INSERT INTO job_lease (name, owner, expires_at) VALUES (:name, :owner, :expiresAt) " +
+            "ON CONFLICT (name) DO UPDATE SET owner = EXCLUDED.owner, expires_at = EXCLUDED.expires_at " +
+            "WHERE job_lease.expires_at < :now OR job_lease.owner = EXCLUDED.owner",
+            nativeQuery = true)
+    int claim(@Param("name") String name, @Param("owner") String owner,
+              @Param("expiresAt") Instant expiresAt, @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM JobLease l WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner);
+}
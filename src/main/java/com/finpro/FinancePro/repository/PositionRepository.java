@@ -0,0 +1,55 @@
+package com.finpro.FinancePro.repository;
+
+import com.finpro.FinancePro.entity.Position;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PositionRepository extends JpaRepository<Position, Long> {
+
+    // Served by the (user_id, symbol) unique index
+    @Query("SELECT p FROM Position p WHERE p.user.id = :userId ORDER BY p.symbol")
+    List<Position> findByUserId(@Param("userId") Long userId);
+
+    // Add a lot's quantity and cost to the position, creating it on the first lot, in a single statement
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO investment_position (user_id, symbol, quantity, cost_basis, updated_at) " +
+            "VALUES (:userId, :symbol, :quantity, :costBasis, :now) " +
+            "ON CONFLICT (user_id, symbol) DO UPDATE SET " +
+            "quantity = investment_position.quantity + EXCLUDED.quantity, " +
+            "cost_basis = investment_position.cost_basis + EXCLUDED.cost_basis, " +
+            "updated_at = EXCLUDED.updated_at",
+            nativeQuery = true)
+    int applyDelta(@Param("userId") Long userId, @Param("symbol") String symbol,
+                   @Param("quantity") double quantity, @Param("costBasis") double costBasis,
+                   @Param("now") LocalDateTime now);
+
+    // Drop a position whose last lot was removed; the tolerance absorbs floating point residue
+    @Modifying
+    @Query("DELETE FROM Position p WHERE p.user.id = :userId AND p.symbol = :symbol AND ABS(p.quantity) < :tolerance")
+    int deleteIfEmpty(@Param("userId") Long userId, @Param("symbol") String symbol,
+                      @Param("tolerance") double tolerance);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Position p WHERE p.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    // Users with lots or positions, in keyset pages, for the reconciliation job
+    @Query(value = "SELECT user_id FROM (SELECT user_id FROM investment UNION SELECT user_id FROM investment_position) u " +
+            "WHERE user_id > :afterUserId ORDER BY user_id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findUserIdsAfter(@Param("afterUserId") Long afterUserId, @Param("limit") int limit);
+
+    // Users with lots but no positions at all, in keyset pages, for the one-off backfill
+    @Query(value = "SELECT DISTINCT i.user_id FROM investment i WHERE i.user_id > :afterUserId " +
+            "AND NOT EXISTS (SELECT 1 FROM investment_position p WHERE p.user_id = i.user_id) " +
+            "ORDER BY i.user_id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findUserIdsWithoutPositionsAfter(@Param("afterUserId") Long afterUserId, @Param("limit") int limit);
+}
@@ -0,0 +1,33 @@
+package com.finpro.FinancePro.repository;
+
+import com.finpro.FinancePro.entity.QuoteFetchLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface QuoteFetchLeaseRepository extends JpaRepository<QuoteFetchLease, String> {
+
+    // Takes the lease if nobody holds it, it has expired, or we already hold it; returns 1 when we own it
+    @Modifying
+    @Query(value = "INSERT INTO quote_fetch_lease (symbol, owner, expires_at) VALUES (:symbol, :owner, :expiresAt) " +
+            "ON CONFLICT (symbol) DO UPDATE SET owner = EXCLUDED.owner, expires_at = EXCLUDED.expires_at, " +
+            "not_found_message = NULL " +
+            "WHERE quote_fetch_lease.expires_at < :now OR quote_fetch_lease.owner = EXCLUDED.owner",
+            nativeQuery = true)
+    int claim(@Param("symbol") String symbol, @Param("owner") String owner,
+              @Param("expiresAt") Instant expiresAt, @Param("now") Instant now);
+
+    // Records that the symbol does not exist; the lease is then left to expire rather than released
+    @Modifying
+    @Query("UPDATE QuoteFetchLease l SET l.notFoundMessage = :message WHERE l.symbol = :symbol AND l.owner = :owner")
+    int markNotFound(@Param("symbol") String symbol, @Param("owner") String owner, @Param("message") String message);
+
+    @Modifying
+    @Query("DELETE FROM QuoteFetchLease l WHERE l.symbol = :symbol AND l.owner = :owner")
+    int release(@Param("symbol") String symbol, @Param("owner") String owner);
+}
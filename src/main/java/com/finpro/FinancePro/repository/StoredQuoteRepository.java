@@ -0,0 +1,37 @@
+package com.finpro.FinancePro.repository;
+
+import com.finpro.FinancePro.entity.StoredQuote;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface StoredQuoteRepository extends JpaRepository<StoredQuote, String> {
+
+    // Insert or replace in one statement; an older quote never overwrites a newer one written by another node
+    @Modifying
+    @Query(value = "INSERT INTO stored_quote (symbol, current_price, price_change, change_percent, high, low, volume, fetched_at) " +
+            "VALUES (:symbol, :currentPrice, :change, :changePercent, :high, :low, :volume, :fetchedAt) " +
+            "ON CONFLICT (symbol) DO UPDATE SET current_price = EXCLUDED.current_price, " +
+            "price_change = EXCLUDED.price_change, change_percent = EXCLUDED.change_percent, " +
+            "high = EXCLUDED.high, low = EXCLUDED.low, volume = EXCLUDED.volume, fetched_at = EXCLUDED.fetched_at " +
+            "WHERE stored_quote.fetched_at < EXCLUDED.fetched_at",
+            nativeQuery = true)
+    int upsert(@Param("symbol") String symbol,
+               @Param("currentPrice") Double currentPrice,
+               @Param("change") Double change,
+               @Param("changePercent") Double changePercent,
+               @Param("high") Double high,
+               @Param("low") Double low,
+               @Param("volume") Long volume,
+               @Param("fetchedAt") Instant fetchedAt);
+
+    // Most recently fetched quotes, for warming a new node's cache
+    List<StoredQuote> findByFetchedAtAfterOrderByFetchedAtDesc(Instant fetchedAfter, Pageable pageable);
+}
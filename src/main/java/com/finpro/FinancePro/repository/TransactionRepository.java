@@ -1,11 +1,18 @@
 package com.finpro.FinancePro.repository;
 
 import com.finpro.FinancePro.entity.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
@@ -19,4 +26,80 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     // Find all transactions by user ID
     List<Transaction> findByUserId(Long userId);
 
+    // Sum of amounts for one type (INCOME or EXPENSE), computed by the database
+    @Query("SELECT COALESCE(SUM(t.amount), 0.0) FROM Transaction t WHERE t.user.id = :userId AND t.type = :type")
+    double sumAmountByUserIdAndType(@Param("userId") Long userId, @Param("type") String type);
+
+    // Sum and count per type for a user, in a single round trip
+    @Query("SELECT t.type AS type, SUM(t.amount) AS total, COUNT(t) AS count " +
+            "FROM Transaction t WHERE t.user.id = :userId GROUP BY t.type")
+    List<TypeTotal> sumAmountGroupedByType(@Param("userId") Long userId);
+
+    // Sum and count per type for a user, bounded by a date range
+    @Query("SELECT t.type AS type, SUM(t.amount) AS total, COUNT(t) AS count " +
+            "FROM Transaction t WHERE t.user.id = :userId AND t.createdAt BETWEEN :startDate AND :endDate " +
+            "GROUP BY t.type")
+    List<TypeTotal> sumAmountGroupedByTypeBetween(@Param("userId") Long userId,
+                                                  @Param("startDate") LocalDateTime startDate,
+                                                  @Param("endDate") LocalDateTime endDate);
+
+    // Optional filters shared by the keyset page queries; a null parameter disables its filter
+    String PAGE_FILTERS = " AND (:type IS NULL OR t.type = :type)" +
+            " AND (:category IS NULL OR t.category = :category)" +
+            " AND (:minAmount IS NULL OR t.amount >= :minAmount)" +
+            " AND (:maxAmount IS NULL OR t.amount <= :maxAmount)" +
+            " AND (:startDate IS NULL OR t.createdAt >= :startDate)" +
+            " AND (:endDate IS NULL OR t.createdAt <= :endDate)";
+
+    // First page of a user's transactions, newest first
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId" + PAGE_FILTERS +
+            " ORDER BY t.createdAt DESC, t.id DESC")
+    List<Transaction> findPageByUserId(@Param("userId") Long userId,
+                                       @Param("type") String type,
+                                       @Param("category") String category,
+                                       @Param("minAmount") Double minAmount,
+                                       @Param("maxAmount") Double maxAmount,
+                                       @Param("startDate") LocalDateTime startDate,
+                                       @Param("endDate") LocalDateTime endDate,
+                                       Pageable pageable);
+
+    // Next page after the (createdAt, id) cursor; seeks on the index instead of using OFFSET
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId" + PAGE_FILTERS +
+            " AND (t.createdAt < :cursorCreatedAt OR (t.createdAt = :cursorCreatedAt AND t.id < :cursorId))" +
+            " ORDER BY t.createdAt DESC, t.id DESC")
+    List<Transaction> findPageByUserIdAfter(@Param("userId") Long userId,
+                                            @Param("type") String type,
+                                            @Param("category") String category,
+                                            @Param("minAmount") Double minAmount,
+                                            @Param("maxAmount") Double maxAmount,
+                                            @Param("startDate") LocalDateTime startDate,
+                                            @Param("endDate") LocalDateTime endDate,
+                                            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                            @Param("cursorId") Long cursorId,
+                                            Pageable pageable);
+
+    // All of a user's transactions as lightweight rows, read through a JDBC cursor in fetch-size chunks.
+    // Must be consumed inside a transaction and closed by the caller.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t.id AS id, t.createdAt AS createdAt, t.type AS type, t.category AS category, " +
+            "t.amount AS amount, t.description AS description " +
+            "FROM Transaction t WHERE t.user.id = :userId ORDER BY t.createdAt, t.id")
+    Stream<ExportRow> streamExportRowsByUserId(@Param("userId") Long userId);
+
+    // Projection for the aggregate queries above
+    interface TypeTotal {
+        String getType();
+        Double getTotal();
+        Long getCount();
+    }
+
+    // Projection for the export stream, so rows never enter the persistence context
+    interface ExportRow {
+        Long getId();
+        LocalDateTime getCreatedAt();
+        String getType();
+        String getCategory();
+        Double getAmount();
+        String getDescription();
+    }
 }
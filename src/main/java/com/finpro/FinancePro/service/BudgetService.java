@@ -4,7 +4,6 @@ import com.finpro.FinancePro.dto.Request.CreateBudgetDTO;
 import com.finpro.FinancePro.dto.Request.UpdateBudgetDTO;
 import com.finpro.FinancePro.dto.Response.BudgetResponseDTO;
 import com.finpro.FinancePro.entity.Budget;
-import com.finpro.FinancePro.entity.Transaction;
 import com.finpro.FinancePro.entity.User;
 import com.finpro.FinancePro.exception.InvalidRequestException;
 import com.finpro.FinancePro.exception.ResourceNotFoundException;
@@ -13,8 +12,7 @@ import com.finpro.FinancePro.repository.TransactionRepository;
 import com.finpro.FinancePro.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-
-import java.util.List;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class BudgetService {
@@ -28,6 +26,13 @@ public class BudgetService {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private BudgetWriteBehindBuffer budgetWriteBehindBuffer;
+
+    @Autowired
+    private GoalProjectionService goalProjectionService;
+
+    @Transactional
     public BudgetResponseDTO createBudget(Long userId, CreateBudgetDTO createDTO) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID " + userId));
@@ -40,21 +45,37 @@ public class BudgetService {
         Budget budget = new Budget();
         budget.setUser(user);
         budget.setTotalAmount(createDTO.getTotalAmount());
-        budget.setSpentAmount(calculateSpentAmount(userId)); // Calculate spent amount
+        // Recomputed from scratch; unflushed deltas are already included and are dropped with it
+        budget.setSpentAmount(budgetWriteBehindBuffer.resyncSpentAmount(userId, () -> calculateSpentAmount(userId)));
         budget.setPeriod(createDTO.getPeriod());
 
-        Budget savedBudget = budgetRepository.save(budget);
+        // Inserted before the goal row is locked, the same order TransactionService uses
+        Budget savedBudget = budgetRepository.saveAndFlush(budget);
+
+        // The budget total is part of the goal's current amount
+        goalProjectionService.rebuildIfPresent(userId);
         return convertToResponseDTO(savedBudget);
     }
 
+    @Transactional
     public BudgetResponseDTO updateBudget(UpdateBudgetDTO updateDTO) {
         Budget budget = budgetRepository.findById(updateDTO.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Budget not found with ID " + updateDTO.getId()));
 
+        Long userId = budget.getUser().getId();
         budget.setTotalAmount(updateDTO.getTotalAmount());
-        budget.setSpentAmount(calculateSpentAmount(budget.getUser().getId())); // Recalculate spent amount
-
-        Budget updatedBudget = budgetRepository.save(budget);
+        // The row is locked before the SUM, so an increment either is in the SUM or waits for this commit
+        budget.setSpentAmount(budgetWriteBehindBuffer.resyncSpentAmount(userId, () -> {
+            budgetRepository.findByIdForUpdate(budget.getId());
+            return calculateSpentAmount(userId);
+        }));
+
+        // Written now rather than at commit: like TransactionService, the budget row is changed before the
+        // goal row is locked, so the two paths can't deadlock on opposite lock orders
+        Budget updatedBudget = budgetRepository.saveAndFlush(budget);
+
+        // The budget total is part of the goal's current amount
+        goalProjectionService.rebuildIfPresent(updatedBudget.getUser().getId());
         return convertToResponseDTO(updatedBudget);
     }
 
@@ -64,50 +85,51 @@ public class BudgetService {
         return budget.getUser().getId().equals(userId);
     }
 
+    @Transactional(readOnly = true)
     public BudgetResponseDTO getBudgetByUser(Long userId) {
         Budget budget = budgetRepository.findByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("No budget found for user ID " + userId));
 
-        // Dynamically calculate the spent amount
-        double spentAmount = calculateSpentAmount(userId);
-
-        // Update the spent amount in the budget and save it to the database
-        budget.setSpentAmount(spentAmount);
-        budgetRepository.save(budget); //save the updated spent amount in database
-
+        // The spent amount is kept current by TransactionService, so it is returned as stored
         return convertToResponseDTO(budget);
     }
 
+    @Transactional(readOnly = true)
     public BudgetResponseDTO getBudgetByUserAndPeriod(Long userId, String period) {
         Budget budget = budgetRepository.findByUserIdAndPeriod(userId, period)
                 .orElseThrow(() -> new ResourceNotFoundException("No budget found for user ID " + userId + " and period " + period));
-        budget.setSpentAmount(calculateSpentAmount(userId)); // Dynamically calculate spent amount
         return convertToResponseDTO(budget);
     }
 
     private double calculateSpentAmount(Long userId) {
-        // Retrieve all expense transactions for the user and sum their amounts
-        List<Transaction> expenses = transactionRepository.findByUserIdAndType(userId, "EXPENSE");
-        return expenses.stream().mapToDouble(Transaction::getAmount).sum();
+        // Sum of all expense transactions for the user, aggregated by the database
+        return transactionRepository.sumAmountByUserIdAndType(userId, "EXPENSE");
     }
 
+    @Transactional(readOnly = true)
     public double getCurrentRemainingBudget(Long userId) {
+        // Calculate fresh spent amount
+        return getRemainingBudget(userId, calculateSpentAmount(userId));
+    }
+
+    // Remaining budget for a spent amount the caller has already aggregated
+    @Transactional(readOnly = true)
+    public double getRemainingBudget(Long userId, double spentAmount) {
         Budget budget = budgetRepository.findByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("No budget found for user ID " + userId));
 
-        // Calculate fresh spent amount
-        double spentAmount = calculateSpentAmount(userId);
-
-        // Calculate remaining budget
         return budget.getTotalAmount() - spentAmount;
     }
 
     private BudgetResponseDTO convertToResponseDTO(Budget budget) {
+        // Include expense deltas still waiting in the write-behind buffer
+        double spentAmount = budget.getSpentAmount() + budgetWriteBehindBuffer.getPendingAmount(budget.getUser().getId());
+
         BudgetResponseDTO responseDTO = new BudgetResponseDTO();
         responseDTO.setId(budget.getId());
         responseDTO.setTotalAmount(budget.getTotalAmount());
-        responseDTO.setSpentAmount(budget.getSpentAmount());
-        responseDTO.setRemainingBudget(budget.getTotalAmount() - budget.getSpentAmount()); // Calculate remaining budget
+        responseDTO.setSpentAmount(spentAmount);
+        responseDTO.setRemainingBudget(budget.getTotalAmount() - spentAmount); // Calculate remaining budget
         responseDTO.setPeriod(budget.getPeriod());
         return responseDTO;
     }
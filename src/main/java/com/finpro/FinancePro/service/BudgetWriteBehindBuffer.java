@@ -0,0 +1,260 @@
+package com.finpro.FinancePro.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.DoubleSupplier;
+
+// Optional write-behind mode for Budget.spentAmount.
+// Expense deltas are accumulated per user in striped LongAdders (fixed-point cents) and written to the
+// budget table in one JDBC batch every flush interval, so hot users no longer contend on their budget row.
+// Deltas not yet flushed are lost if the process dies. While flushes succeed that is at most one flush
+// interval; once they have been failing for max-pending-age-ms, acceptsWrites() turns false and callers
+// update the budget row directly, so the unwritten amount stops growing while the database is down.
+@Component
+public class BudgetWriteBehindBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(BudgetWriteBehindBuffer.class);
+
+    private static final String FLUSH_SQL =
+            "UPDATE budget SET spent_amount = spent_amount + ?, updated_at = ? WHERE user_id = ?";
+
+    @Value("${budget.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${budget.write-behind.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${budget.write-behind.flush-on-shutdown:true}")
+    private boolean flushOnShutdown;
+
+    @Value("${budget.write-behind.max-pending-age-ms:5000}")
+    private long maxPendingAgeMs;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, LongAdder> pendingCents = new ConcurrentHashMap<>();
+
+    // Striped per-user gates between expense transactions (shared) and spent amount recomputes (exclusive)
+    private final ReadWriteLock[] gates = new ReadWriteLock[64];
+
+    {
+        for (int i = 0; i < gates.length; i++) {
+            gates[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    private ScheduledExecutorService flushScheduler;
+
+    // When flushes started failing; 0 while the last flush succeeded
+    private volatile long failingSinceMs;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Whether new deltas may be buffered rather than written to the budget row in the caller's transaction
+    public boolean acceptsWrites() {
+        long since = failingSinceMs;
+        return enabled && (since == 0 || System.currentTimeMillis() - since < maxPendingAgeMs);
+    }
+
+    // Queue a delta once the surrounding transaction commits, so rolled back transactions never reach the budget.
+    // The user's gate is held shared until the transaction completes, so a recompute never reads the committed
+    // expense while its delta is still on the way into the buffer.
+    public void addAfterCommit(Long userId, double amount) {
+        Lock gate = gateFor(userId).readLock();
+        gate.lock();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                add(userId, amount);
+            } finally {
+                gate.unlock();
+            }
+            return;
+        }
+        try {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(userId, amount);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    gate.unlock();
+                }
+            });
+        } catch (RuntimeException e) {
+            gate.unlock();
+            throw e;
+        }
+    }
+
+    public void add(Long userId, double amount) {
+        addCents(userId, toCents(amount));
+    }
+
+    // Adds inside compute so the increment cannot land on an adder that flush() is removing
+    private void addCents(Long userId, long cents) {
+        pendingCents.compute(userId, (id, adder) -> {
+            LongAdder target = adder != null ? adder : new LongAdder();
+            target.add(cents);
+            return target;
+        });
+    }
+
+    // Delta accepted for the user but not yet written to the budget row
+    public double getPendingAmount(Long userId) {
+        LongAdder adder = pendingCents.get(userId);
+        return adder == null ? 0 : adder.sum() / 100.0;
+    }
+
+    // Users with a delta not yet written
+    public int getPendingUserCount() {
+        return pendingCents.size();
+    }
+
+    // Recompute a user's spent amount from the transactions, dropping the buffered deltas it already counts.
+    // With the gate held exclusively no expense of the user is between commit and buffering, so everything
+    // buffered is in the recompute. The gate stays held until the caller's transaction completes, so later
+    // expenses are buffered, and flushed, only once the recomputed row is committed. The recompute may lock
+    // the budget row; the discard comes first because a flush holds the flush lock while it waits for that row.
+    public double resyncSpentAmount(Long userId, DoubleSupplier recompute) {
+        Lock gate = gateFor(userId).writeLock();
+        gate.lock();
+        boolean releaseNow = true;
+        try {
+            discardPending(userId);
+            double spentAmount = recompute.getAsDouble();
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        gate.unlock();
+                    }
+                });
+                releaseNow = false;
+            }
+            return spentAmount;
+        } finally {
+            if (releaseNow) {
+                gate.unlock();
+            }
+        }
+    }
+
+    // Drop the unflushed delta for a user. Holds the flush lock, so a delta a flush has already drained is
+    // written before the caller reads the budget.
+    public synchronized void discardPending(Long userId) {
+        pendingCents.remove(userId);
+    }
+
+    private ReadWriteLock gateFor(Long userId) {
+        return gates[Math.floorMod(userId.hashCode(), gates.length)];
+    }
+
+    // Flushes run on their own thread rather than Spring's shared scheduler, where a long repair or
+    // prefetch job would hold them up far past the flush interval
+    @PostConstruct
+    void startFlushing() {
+        if (!enabled) {
+            return;
+        }
+        flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "budget-write-behind-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushScheduler.scheduleWithFixedDelay(this::scheduledFlush, flushIntervalMs, flushIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // An escaped exception would cancel every later run
+            logger.error("Write-behind flush failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // Write every pending delta in one batch. On failure the deltas are put back and retried on the next flush.
+    public synchronized void flush() {
+        Map<Long, Long> drained = new HashMap<>();
+        for (Map.Entry<Long, LongAdder> entry : pendingCents.entrySet()) {
+            // sum-then-subtract keeps adds that race with the flush for the next round
+            long cents = entry.getValue().sum();
+            if (cents != 0) {
+                entry.getValue().add(-cents);
+                drained.put(entry.getKey(), cents);
+            }
+            // Forget users with nothing pending so the map only holds active users
+            pendingCents.computeIfPresent(entry.getKey(), (id, adder) -> adder.sum() == 0 ? null : adder);
+        }
+        if (drained.isEmpty()) {
+            failingSinceMs = 0;
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = new ArrayList<>(drained.size());
+        drained.forEach((userId, cents) -> batchArgs.add(new Object[]{cents / 100.0, now, userId}));
+
+        try {
+            int[] updated = jdbcTemplate.batchUpdate(FLUSH_SQL, batchArgs);
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    logger.warn("Dropped write-behind delta for user {}: no budget found", batchArgs.get(i)[2]);
+                }
+            }
+            logger.debug("Flushed write-behind budget deltas for {} users", drained.size());
+            failingSinceMs = 0;
+        } catch (DataAccessException e) {
+            logger.error("Failed to flush write-behind budget deltas, will retry: {}", e.getMessage());
+            drained.forEach(this::addCents);
+            if (failingSinceMs == 0) {
+                failingSinceMs = System.currentTimeMillis();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (flushScheduler != null) {
+            flushScheduler.shutdown();
+            flushScheduler.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        if (enabled && flushOnShutdown) {
+            flush();
+        }
+    }
+
+    private long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+}
@@ -0,0 +1,111 @@
+package com.finpro.FinancePro.service;
+
+import com.finpro.FinancePro.dto.Response.BudgetResponseDTO;
+import com.finpro.FinancePro.dto.Response.DashboardDTO;
+import com.finpro.FinancePro.dto.Response.GoalProgressDTO;
+import com.finpro.FinancePro.dto.Response.PortfolioPerformanceDTO;
+import com.finpro.FinancePro.dto.Response.TransactionPageDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Builds the dashboard in one request by running every section concurrently on virtual threads.
+// A section that fails or misses its deadline is left empty and reported in sectionErrors,
+// so a slow quote lookup only degrades the portfolio section.
+@Service
+public class DashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private InvestmentService investmentService;
+
+    @Value("${dashboard.section-timeout-ms:5000}")
+    private long sectionTimeoutMs;
+
+    @Value("${dashboard.quote-section-timeout-ms:2500}")
+    private long quoteSectionTimeoutMs;
+
+    @Value("${dashboard.recent-transactions:10}")
+    private int recentTransactionCount;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public DashboardDTO getDashboard(Long userId) {
+        long start = System.nanoTime();
+
+        // Income and expense totals are aggregated once here and shared by the response
+        Future<Map<String, Double>> totalsFuture = executor.submit(() -> transactionService.calculateTotalsByType(userId));
+        Future<BudgetResponseDTO> budgetFuture = executor.submit(() -> budgetService.getBudgetByUser(userId));
+        Future<GoalProgressDTO> goalFuture = executor.submit(() -> goalService.calculateGoalProgressByUserId(userId));
+        Future<TransactionPageDTO> recentFuture = executor.submit(() -> transactionService.getTransactionsPage(
+                userId, null, recentTransactionCount, null, null, null, null, null, null));
+        Future<PortfolioPerformanceDTO> portfolioFuture = executor.submit(() -> investmentService.calculatePortfolioPerformance(userId));
+
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMs);
+        long quoteDeadline = start + TimeUnit.MILLISECONDS.toNanos(quoteSectionTimeoutMs);
+        Map<String, String> sectionErrors = new LinkedHashMap<>();
+
+        DashboardDTO dashboard = new DashboardDTO();
+        Map<String, Double> totals = awaitSection("totals", totalsFuture, deadline, sectionErrors);
+        if (totals != null) {
+            dashboard.setIncomeTotal(totals.getOrDefault("INCOME", 0.0));
+            dashboard.setExpenseTotal(totals.getOrDefault("EXPENSE", 0.0));
+        }
+        dashboard.setBudget(awaitSection("budget", budgetFuture, deadline, sectionErrors));
+        dashboard.setGoalProgress(awaitSection("goalProgress", goalFuture, deadline, sectionErrors));
+        TransactionPageDTO recent = awaitSection("recentTransactions", recentFuture, deadline, sectionErrors);
+        if (recent != null) {
+            dashboard.setRecentTransactions(recent.getTransactions());
+        }
+        dashboard.setPortfolio(awaitSection("portfolio", portfolioFuture, quoteDeadline, sectionErrors));
+        dashboard.setSectionErrors(sectionErrors);
+        return dashboard;
+    }
+
+    // Wait for one section until the deadline; failures are recorded instead of failing the whole dashboard
+    private <T> T awaitSection(String section, Future<T> future, long deadlineNanos, Map<String, String> sectionErrors) {
+        try {
+            long remaining = Math.max(0, deadlineNanos - System.nanoTime());
+            return future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.warn("Dashboard section {} timed out", section);
+            sectionErrors.put(section, "Timed out");
+        } catch (ExecutionException e) {
+            // The cause can carry SQL or upstream details, so it stays in the log
+            logger.warn("Dashboard section {} failed", section, e.getCause());
+            sectionErrors.put(section, "Unavailable");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sectionErrors.put(section, "Interrupted");
+        }
+        return null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,88 @@
+package com.finpro.FinancePro.service;
+
+import com.finpro.FinancePro.dto.Response.GoalRepairResultDTO;
+import com.finpro.FinancePro.repository.GoalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Periodically rebuilds every goal projection and logs how many had drifted. Holds a job lease so only one
+// node runs it; a user whose rebuild fails is logged and skipped.
+@Component
+public class GoalProjectionRepairJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(GoalProjectionRepairJob.class);
+
+    private static final int PAGE_SIZE = 100;
+
+    static final String REPAIR_JOB = "goal-projection-repair";
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private GoalProjectionService goalProjectionService;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Value("${goal.projection.job-lease-ms:3600000}")
+    private long jobLeaseMs;  // 1 hour by default; longer than a full run
+
+    @Scheduled(cron = "${goal.projection.repair-cron:0 0 3 * * *}")
+    public void repairAll() {
+        try {
+            if (!jobLeaseService.tryClaim(REPAIR_JOB, jobLeaseMs)) {
+                logger.debug("Skipping {}; another node is running it", REPAIR_JOB);
+                return;
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not claim job lease for {}; skipping this run: {}", REPAIR_JOB, e.getMessage());
+            return;
+        }
+        try {
+            repairEachGoal();
+        } finally {
+            try {
+                jobLeaseService.release(REPAIR_JOB);
+            } catch (RuntimeException e) {
+                // The lease expires on its own
+                logger.warn("Could not release job lease for {}: {}", REPAIR_JOB, e.getMessage());
+            }
+        }
+    }
+
+    private void repairEachGoal() {
+        int checked = 0;
+        int drifted = 0;
+        int failed = 0;
+        Long afterUserId = 0L;
+        List<Long> userIds;
+        do {
+            userIds = goalRepository.findUserIdsAfter(afterUserId, PageRequest.of(0, PAGE_SIZE));
+            for (Long userId : userIds) {
+                afterUserId = userId;
+                try {
+                    // Each rebuild runs in its own short transaction
+                    GoalRepairResultDTO result = goalProjectionService.rebuild(userId);
+                    checked++;
+                    if (Math.abs(result.getDrift()) > 0.005) {
+                        drifted++;
+                    }
+                } catch (RuntimeException e) {
+                    // e.g. the goal was deleted mid-run; the other users still get repaired
+                    failed++;
+                    logger.warn("Goal projection repair failed for user {}: {}", userId, e.getMessage());
+                }
+            }
+        } while (userIds.size() == PAGE_SIZE);
+
+        logger.info("Goal projection repair checked {} goals, {} had drifted, {} failed", checked, drifted, failed);
+    }
+}
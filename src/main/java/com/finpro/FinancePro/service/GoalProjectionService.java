@@ -0,0 +1,99 @@
+package com.finpro.FinancePro.service;
+
+import com.finpro.FinancePro.dto.Response.GoalRepairResultDTO;
+import com.finpro.FinancePro.entity.Budget;
+import com.finpro.FinancePro.entity.Goal;
+import com.finpro.FinancePro.event.TransactionChangedEvent;
+import com.finpro.FinancePro.exception.ResourceNotFoundException;
+import com.finpro.FinancePro.repository.BudgetRepository;
+import com.finpro.FinancePro.repository.GoalRepository;
+import com.finpro.FinancePro.repository.TransactionRepository;
+import com.finpro.FinancePro.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+// Maintains Goal.currentAmount (income + budget total - expenses) as a materialized projection.
+// Transaction changes are applied as deltas; budget changes and repairs rebuild it from scratch.
+@Service
+public class GoalProjectionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GoalProjectionService.class);
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Runs synchronously inside the transaction that changed the transactions
+    @EventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        double delta = event.getIncomeDelta() - event.getExpenseDelta();
+        if (delta != 0 && goalRepository.incrementCurrentAmount(event.getUserId(), delta, LocalDateTime.now()) == 0) {
+            // No goal yet. A createGoal in progress holds the user lock: wait for it and retry, so the delta
+            // lands on the new goal or is counted by a createGoal that starts after this commits
+            userRepository.findByIdForUpdate(event.getUserId());
+            goalRepository.incrementCurrentAmount(event.getUserId(), delta, LocalDateTime.now());
+        }
+    }
+
+    // Current amount computed from scratch: income + (budget total - expenses); a missing budget counts as 0
+    public double computeCurrentAmount(Long userId) {
+        double incomeSum = 0;
+        double expenseSum = 0;
+        for (TransactionRepository.TypeTotal typeTotal : transactionRepository.sumAmountGroupedByType(userId)) {
+            // Types are matched case-insensitively, like TransactionService does when publishing deltas
+            if ("INCOME".equalsIgnoreCase(typeTotal.getType())) {
+                incomeSum += typeTotal.getTotal();
+            } else if ("EXPENSE".equalsIgnoreCase(typeTotal.getType())) {
+                expenseSum += typeTotal.getTotal();
+            }
+        }
+        double budgetTotal = budgetRepository.findByUserId(userId).map(Budget::getTotalAmount).orElse(0.0);
+        return incomeSum + budgetTotal - expenseSum;
+    }
+
+    // Rebuild after a budget change; users without a goal have nothing to maintain
+    @Transactional
+    public void rebuildIfPresent(Long userId) {
+        if (goalRepository.findByUserId(userId).isPresent()) {
+            rebuild(userId);
+        }
+    }
+
+    // Recompute a user's projection from scratch, store it, and report how far it had drifted
+    @Transactional
+    public GoalRepairResultDTO rebuild(Long userId) {
+        // Lock first so concurrent deltas either land before the recompute or wait until it commits
+        Goal goal = goalRepository.findByUserIdForUpdate(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Goal not found for user with ID: " + userId));
+
+        double storedAmount = goal.getCurrentAmount();
+        double recomputedAmount = computeCurrentAmount(userId);
+        goal.setCurrentAmount(recomputedAmount);
+        goalRepository.save(goal);
+
+        GoalRepairResultDTO result = new GoalRepairResultDTO();
+        result.setUserId(userId);
+        result.setStoredAmount(storedAmount);
+        result.setRecomputedAmount(recomputedAmount);
+        result.setDrift(recomputedAmount - storedAmount);
+        if (Math.abs(result.getDrift()) > 0.005) {
+            logger.warn("Goal projection for user {} drifted by {} (stored {}, recomputed {})",
+                    userId, result.getDrift(), storedAmount, recomputedAmount);
+        }
+        return result;
+    }
+}
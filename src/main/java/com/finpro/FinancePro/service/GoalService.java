@@ -3,6 +3,7 @@ package com.finpro.FinancePro.service;
 import com.finpro.FinancePro.dto.Request.CreateGoalDTO;
 import com.finpro.FinancePro.dto.Request.UpdateGoalDTO;
 import com.finpro.FinancePro.dto.Response.GoalProgressDTO;
+import com.finpro.FinancePro.dto.Response.GoalRepairResultDTO;
 import com.finpro.FinancePro.dto.Response.GoalResponseDTO;
 import com.finpro.FinancePro.entity.Goal;
 import com.finpro.FinancePro.entity.User;
@@ -12,6 +13,7 @@ import com.finpro.FinancePro.repository.GoalRepository;
 import com.finpro.FinancePro.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -25,10 +27,7 @@ public class GoalService {
     private UserRepository userRepository;
 
     @Autowired
-    private TransactionService transactionService;
-
-    @Autowired
-    private BudgetService budgetService;
+    private GoalProjectionService goalProjectionService;
 
     public boolean isUserAuthorizedForGoal(Long goalId, Long userId) {
         Goal goal = goalRepository.findById(goalId)
@@ -36,19 +35,11 @@ public class GoalService {
         return goal.getUser().getId().equals(userId);
     }
 
-    private double calculateCurrentAmount(Long userId) {
-        // Get income sum from transactions
-        double incomeSum = transactionService.calculateIncomeSum(userId);
-
-        // Get fresh remaining budget directly
-        double remainingBudget = budgetService.getCurrentRemainingBudget(userId);
-
-        return incomeSum + remainingBudget;
-    }
-
-    // Update this method in your GoalService class
+    // Holds the user lock until the goal is committed. A transaction event that finds no goal waits on the
+    // same lock, so its delta either is in computeCurrentAmount or lands on the committed goal.
+    @Transactional
     public GoalResponseDTO createGoal(CreateGoalDTO createGoalDTO, Long userId) {
-        User user = userRepository.findById(userId)
+        User user = userRepository.findByIdForUpdate(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID " + userId));
 
         // Check if a goal already exists for the user
@@ -61,7 +52,8 @@ public class GoalService {
         goal.setUser(user);
         goal.setName(createGoalDTO.getName());
         goal.setTargetAmount(createGoalDTO.getTargetAmount());
-        goal.setCurrentAmount(0); // Initialize current amount to 0
+        // Start the projection from the current totals; transaction events keep it up to date from here on
+        goal.setCurrentAmount(goalProjectionService.computeCurrentAmount(userId));
 
         Goal savedGoal = goalRepository.save(goal);
         return convertToResponseDTO(savedGoal);
@@ -72,30 +64,28 @@ public class GoalService {
                 .orElseThrow(() -> new ResourceNotFoundException("Goal not found with ID: " + updateDTO.getId()));
 
         goal.setTargetAmount(updateDTO.getTargetAmount());
-        goal.setCurrentAmount(calculateCurrentAmount(goal.getUser().getId())); // Calculate dynamic current amount
 
         Goal updatedGoal = goalRepository.save(goal);
         return convertToResponseDTO(updatedGoal);
     }
 
+    @Transactional(readOnly = true)
     public GoalResponseDTO getGoalByUserId(Long userId) {
         Goal goal = goalRepository.findByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Goal not found for User ID: " + userId));
 
-        // Update current amount before returning
-        goal.setCurrentAmount(calculateCurrentAmount(userId));
-        goal = goalRepository.save(goal);
-
+        // The current amount is materialized on the goal row, so this is a plain read
         return convertToResponseDTO(goal);
     }
 
     //Method to get the progress of the Goal to maintain the BAR GRAPH
+    @Transactional(readOnly = true)
     public GoalProgressDTO calculateGoalProgressByUserId(Long userId) {
         Goal goal = goalRepository.findByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Goal not found for user with ID: " + userId));
 
-        // Get current amount using the existing calculation
-        double currentAmount = calculateCurrentAmount(userId);
+        // Current amount is maintained incrementally by GoalProjectionService
+        double currentAmount = goal.getCurrentAmount();
 
         GoalProgressDTO progressDTO = new GoalProgressDTO();
         progressDTO.setTargetAmount(goal.getTargetAmount());
@@ -116,6 +106,11 @@ public class GoalService {
     }
 
 
+    // Recompute the user's goal projection from scratch and report the drift
+    public GoalRepairResultDTO repairGoalProjection(Long userId) {
+        return goalProjectionService.rebuild(userId);
+    }
+
     private GoalResponseDTO convertToResponseDTO(Goal goal) {
         GoalResponseDTO response = new GoalResponseDTO();
         response.setId(goal.getId());
@@ -3,32 +3,61 @@ package com.finpro.FinancePro.service;
 import com.finpro.FinancePro.dto.Request.CreateInvestmentDTO;
 import com.finpro.FinancePro.dto.Request.UpdateInvestmentDTO;
 import com.finpro.FinancePro.dto.Response.InvestmentResponseDTO;
+import com.finpro.FinancePro.dto.Response.PortfolioPerformanceDTO;
+import com.finpro.FinancePro.dto.Response.QuoteResultDTO;
+import com.finpro.FinancePro.dto.Response.QuoteSource;
+import com.finpro.FinancePro.dto.Response.QuoteStatus;
 import com.finpro.FinancePro.dto.Response.StockQuoteDTO;
+import com.finpro.FinancePro.dto.Response.SymbolDTO;
 import com.finpro.FinancePro.entity.Investment;
+import com.finpro.FinancePro.entity.Position;
 import com.finpro.FinancePro.entity.User;
 import com.finpro.FinancePro.exception.CustomAccessDeniedException;
+import com.finpro.FinancePro.exception.InvalidRequestException;
+import com.finpro.FinancePro.exception.QuoteThrottledException;
 import com.finpro.FinancePro.exception.ResourceNotFoundException;
 import com.finpro.FinancePro.exception.StockApiException;
 import com.finpro.FinancePro.repository.InvestmentRepository;
 import com.finpro.FinancePro.repository.UserRepository;
-import com.finpro.FinancePro.util.AlphaVantageApiUtil;
+import com.finpro.FinancePro.service.quote.QuoteProvider;
+import com.finpro.FinancePro.util.Bulkhead;
+import com.finpro.FinancePro.util.CircuitBreaker;
+import com.finpro.FinancePro.util.NegativeQuoteCache;
+import com.finpro.FinancePro.util.QuoteCache;
+import com.finpro.FinancePro.util.QuotePopularity;
+import com.finpro.FinancePro.util.QuoteCache.CachedQuote;
 import com.finpro.FinancePro.util.RateLimiter;
+import com.finpro.FinancePro.util.StockSymbols;
+import com.finpro.FinancePro.util.RateLimiter.Priority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @Service
@@ -43,25 +72,77 @@ public class InvestmentService {
     private UserRepository userRepository;
 
     @Autowired
-    private RestTemplate restTemplate;
+    private PositionService positionService;
 
-    @Value("${alphavantage.api.key}")
-    private String apiKey;
+    @Autowired
+    private QuoteProvider quoteProvider;
 
-    private static final String ALPHA_VANTAGE_URL = "https://www.alphavantage.co/query";
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private CircuitBreaker circuitBreaker;
 
     @Autowired
-    private AlphaVantageApiUtil alphaVantageApiUtil;
+    private Bulkhead bulkhead;
 
-    @Value("${stock.quote.use.mock:false}")
-    private boolean useMockData;
+    @Value("${alphavantage.api.interactive-max-wait-ms:2000}")
+    private long interactiveMaxWaitMs;
 
-    @Value("${alphavantage.cache.duration:300000}")
-    private long cacheDuration;  // 5 minutes by default
+    @Value("${alphavantage.api.background-max-wait-ms:60000}")
+    private long backgroundMaxWaitMs;
 
     @Autowired
-    private RateLimiter rateLimiter;
+    private MeterRegistry meterRegistry;
+
+    @Value("${portfolio.quote-deadline-ms:2000}")
+    private long portfolioQuoteDeadlineMs;
+
+    @Value("${quote.batch.deadline-ms:2000}")
+    private long batchQuoteDeadlineMs;
+
+    @Value("${quote.batch.max-symbols:50}")
+    private int batchMaxSymbols;
+
+    private Counter originatedQuoteRequests;
+    private Counter coalescedQuoteRequests;
+    private Counter staleQuotesServed;
+    private Counter sharedQuoteHits;
+    private Counter ownerQuotesDelivered;
+    private Counter ownerNotFoundDelivered;
+    private Counter ownerQuotesTimedOut;
+
+    @PostConstruct
+    void registerMetrics() {
+        originatedQuoteRequests = Counter.builder("stock.quote.upstream.requests")
+                .description("Quote cache misses, by whether the caller fetched or joined an in-flight fetch")
+                .tag("outcome", "originated")
+                .register(meterRegistry);
+        coalescedQuoteRequests = Counter.builder("stock.quote.upstream.requests")
+                .description("Quote cache misses, by whether the caller fetched or joined an in-flight fetch")
+                .tag("outcome", "coalesced")
+                .register(meterRegistry);
+        staleQuotesServed = Counter.builder("stock.quote.stale.served")
+                .description("Quotes served past the soft TTL while a background refresh runs")
+                .register(meterRegistry);
+        sharedQuoteHits = Counter.builder("stock.quote.shared.hits")
+                .description("Local cache misses answered by the shared quote store")
+                .register(meterRegistry);
+        ownerQuotesDelivered = Counter.builder("stock.quote.ownership.waits")
+                .description("Fetches left to the node holding the symbol's lease, by how the wait ended")
+                .tag("outcome", "delivered")
+                .register(meterRegistry);
+        ownerNotFoundDelivered = Counter.builder("stock.quote.ownership.waits")
+                .description("Fetches left to the node holding the symbol's lease, by how the wait ended")
+                .tag("outcome", "not_found")
+                .register(meterRegistry);
+        ownerQuotesTimedOut = Counter.builder("stock.quote.ownership.waits")
+                .description("Fetches left to the node holding the symbol's lease, by how the wait ended")
+                .tag("outcome", "timed_out")
+                .register(meterRegistry);
+    }
 
+    @Transactional
     public InvestmentResponseDTO createInvestment(CreateInvestmentDTO createDTO) {
         User user = userRepository.findById(createDTO.getUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + createDTO.getUserId()));
@@ -70,12 +151,14 @@ public class InvestmentService {
         investment.setUser(user);
         investment.setType(createDTO.getType());
         investment.setDescription(createDTO.getDescription());
-        investment.setSymbol(createDTO.getSymbol());
+        investment.setSymbol(StockSymbols.normalize(createDTO.getSymbol()));
         investment.setQuantity(createDTO.getQuantity());
         investment.setPurchasePrice(createDTO.getPurchasePrice());
         investment.setAmount(createDTO.getQuantity() * createDTO.getPurchasePrice()); // Calculate amount here
 
         Investment savedInvestment = investmentRepository.save(investment);
+        positionService.applyLotDelta(user.getId(), savedInvestment.getSymbol(),
+                lotQuantity(savedInvestment), lotCost(savedInvestment));
         return convertToResponseDTO(savedInvestment);
     }
 
@@ -88,7 +171,8 @@ public class InvestmentService {
         if (!investment.getUser().getId().equals(userId)) {
             throw new CustomAccessDeniedException("Investment does not belong to the specified user");
         }
-
+        double previousQuantity = lotQuantity(investment);
+        double previousCost = lotCost(investment);
 
         // Update the investment fields if they are present in the DTO
         if (updateDTO.getType() != null) {
@@ -111,6 +195,8 @@ public class InvestmentService {
         }
 
         Investment updatedInvestment = investmentRepository.save(investment);
+        positionService.applyLotDelta(userId, updatedInvestment.getSymbol(),
+                lotQuantity(updatedInvestment) - previousQuantity, lotCost(updatedInvestment) - previousCost);
         return convertToResponseDTO(updatedInvestment);
     }
 
@@ -127,183 +213,556 @@ public class InvestmentService {
         return convertToResponseDTO(investment);
     }
 
+    @Transactional
     public void deleteInvestment(Long id) {
-        if (!investmentRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Investment not found with ID: " + id);
+        Investment investment = investmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Investment not found with ID: " + id));
+        investmentRepository.delete(investment);
+        positionService.applyLotDelta(investment.getUser().getId(), investment.getSymbol(),
+                -lotQuantity(investment), -lotCost(investment));
+    }
+
+    private static double lotQuantity(Investment investment) {
+        return investment.getQuantity() == null ? 0 : investment.getQuantity();
+    }
+
+    private static double lotCost(Investment investment) {
+        return investment.getPurchasePrice() == null ? 0 : lotQuantity(investment) * investment.getPurchasePrice();
+    }
+
+    @Autowired
+    private QuoteCache quoteCache;
+
+    @Autowired
+    private NegativeQuoteCache negativeQuoteCache;
+
+    @Autowired
+    private SymbolDirectory symbolDirectory;
+
+    @Autowired
+    private QuotePopularity quotePopularity;
+
+    @Autowired
+    private SharedQuoteStore sharedQuoteStore;
+
+    @Autowired
+    private QuoteFetchLeaseService quoteFetchLeaseService;
+
+    @Value("${quote.ownership.poll-interval-ms:100}")
+    private long ownerPollIntervalMs;
+
+    // Fetches currently in progress, keyed by symbol; concurrent misses wait on the same future
+    private final Map<String, CompletableFuture<StockQuoteDTO>> inFlightQuotes = new ConcurrentHashMap<>();
+
+    // Runs background refreshes and parallel portfolio lookups
+    private final ExecutorService quoteExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private record QuoteLookup(StockQuoteDTO quote, QuoteSource source) {
+    }
+
+    // Checks the symbol against the local listing when one is loaded, otherwise with a live quote
+    public void validateSymbol(String symbol) {
+        if (symbolDirectory.isLoaded()) {
+            if (!symbolDirectory.contains(symbol)) {
+                throw new ResourceNotFoundException("Unknown stock symbol: " + symbol);
+            }
+            return;
         }
-        investmentRepository.deleteById(id);
+        getStockQuote(symbol);
+    }
+
+    public List<SymbolDTO> searchSymbols(String prefix, int limit) {
+        return symbolDirectory.findByPrefix(prefix, limit);
     }
-    //From here the new Cache and get Stock method are started
-    // Cache for stock quotes
-    private final Map<String, CachedStockQuote> quoteCache = new ConcurrentHashMap<>();
 
-    private static class CachedStockQuote {
-        final StockQuoteDTO quote;
-        final long timestamp;
+    public StockQuoteDTO getStockQuote(String symbol) {
+        return lookupStockQuote(symbol).quote();
+    }
+
+    // Quotes for several symbols at once, in request order with a status per symbol. Misses are fetched in
+    // parallel through the same cache, single-flight and quota path as getStockQuote; symbols still
+    // unresolved at the deadline are reported as TIMEOUT rather than failing the whole batch.
+    public List<QuoteResultDTO> getStockQuotes(List<String> symbols) {
+        Set<String> uniqueSymbols = new LinkedHashSet<>();
+        for (String symbol : symbols) {
+            if (symbol != null && !symbol.isBlank()) {
+                uniqueSymbols.add(normalizeSymbol(symbol));
+            }
+        }
+        if (uniqueSymbols.isEmpty()) {
+            throw new InvalidRequestException("At least one symbol is required");
+        }
+        if (uniqueSymbols.size() > batchMaxSymbols) {
+            throw new InvalidRequestException("At most " + batchMaxSymbols + " symbols can be requested at once");
+        }
 
-        CachedStockQuote(StockQuoteDTO quote) {
-            this.quote = quote;
-            this.timestamp = System.currentTimeMillis();
+        // Cached symbols complete immediately; misses run concurrently
+        Map<String, Future<QuoteLookup>> lookups = new LinkedHashMap<>();
+        for (String symbol : uniqueSymbols) {
+            lookups.put(symbol, quoteExecutor.submit(() -> lookupStockQuote(symbol)));
         }
 
-        boolean isExpired(long duration) {
-            return System.currentTimeMillis() - timestamp > duration;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchQuoteDeadlineMs);
+        List<QuoteResultDTO> results = new ArrayList<>(lookups.size());
+        for (Map.Entry<String, Future<QuoteLookup>> entry : lookups.entrySet()) {
+            QuoteResultDTO result = new QuoteResultDTO();
+            result.setSymbol(entry.getKey());
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                QuoteLookup lookup = entry.getValue().get(remaining, TimeUnit.NANOSECONDS);
+                result.setStatus(QuoteStatus.OK);
+                result.setSource(lookup.source());
+                result.setQuote(lookup.quote());
+            } catch (TimeoutException e) {
+                // Left running so the fetch still lands in the cache for the next call
+                result.setStatus(QuoteStatus.TIMEOUT);
+                result.setError("Quote not available within " + batchQuoteDeadlineMs + " ms");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                result.setStatus(cause instanceof ResourceNotFoundException
+                        ? QuoteStatus.NOT_FOUND
+                        : QuoteStatus.UNAVAILABLE);
+                result.setError(cause.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.setStatus(QuoteStatus.UNAVAILABLE);
+                result.setError("Interrupted");
+            }
+            results.add(result);
         }
+        return results;
     }
 
-    public StockQuoteDTO getStockQuote(String symbol) {
-        // Return mock data if configured
-        if (useMockData) {
-            return getMockStockQuote(symbol);
+    // Starts a background refresh if the symbol's cached quote stops being fresh within leadMs, so popular
+    // symbols never expire in front of a user; returns whether a refresh was started
+    public boolean prefetchStockQuote(String symbol, long leadMs) {
+        symbol = normalizeSymbol(symbol);
+        if (negativeQuoteCache.get(symbol) != null) {
+            return false;
+        }
+        CachedQuote cached = quoteCache.get(symbol);
+        if (isFreshFor(cached, leadMs)) {
+            return false;
         }
+        return refreshInBackground(symbol, leadMs);
+    }
 
-        // Check cache
-        CachedStockQuote cached = quoteCache.get(symbol);
-        if (cached != null && !cached.isExpired(cacheDuration)) {
-            logger.debug("Returning cached quote for symbol: {}", symbol);
-            return cached.quote;
+    // Every quote path goes through here, so "ibm", " IBM" and "IBM" share one cache entry, in-flight fetch,
+    // lease and popularity count
+    private QuoteLookup lookupStockQuote(String rawSymbol) {
+        String symbol = normalizeSymbol(rawSymbol);
+        QuoteLookup lookup = resolveStockQuote(symbol);
+        // Only symbols that resolved count towards popularity, so typos are never prefetched
+        quotePopularity.record(symbol);
+        return lookup;
+    }
+
+    private static String normalizeSymbol(String symbol) {
+        String normalized = StockSymbols.normalize(symbol);
+        if (normalized == null) {
+            throw new InvalidRequestException("Stock symbol is required");
         }
+        return normalized;
+    }
 
-        // Check rate limit
-        if (!rateLimiter.shouldAllowRequest(symbol)) {
-            logger.warn("Rate limit exceeded for symbol: {}. Using cached data if available.", symbol);
-            if (cached != null) {
-                return cached.quote;
+    private QuoteLookup resolveStockQuote(String symbol) {
+        // Check cache
+        CachedQuote cached = quoteCache.get(symbol);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                logger.debug("Returning cached quote for symbol: {}", symbol);
+                return new QuoteLookup(cached.getQuote(), QuoteSource.CACHE);
             }
-            throw new StockApiException("Rate limit exceeded and no cached data available");
+            // Past the soft TTL but still cached: answer now and refresh in the background
+            staleQuotesServed.increment();
+            refreshInBackground(symbol);
+            return new QuoteLookup(cached.getQuote(), QuoteSource.STALE);
         }
 
-        try {
-            String url = alphaVantageApiUtil.buildStockQuoteUrl(symbol);
-            logger.debug("Fetching stock quote for symbol: {} from URL: {}", symbol, url);
+        // Recently reported as unknown; don't spend another upstream call on it
+        String notFound = negativeQuoteCache.get(symbol);
+        if (notFound != null) {
+            logger.debug("Symbol {} recently reported as not found", symbol);
+            throw new ResourceNotFoundException(notFound);
+        }
 
-            ResponseEntity<Map> response = restTemplate.getForEntity(url, Map.class);
-            Map<String, Object> body = response.getBody();
+        // Nothing cached (or past the hard TTL): the caller has to wait for a fetch
+        CompletableFuture<StockQuoteDTO> fetch = new CompletableFuture<>();
+        CompletableFuture<StockQuoteDTO> inFlight = inFlightQuotes.putIfAbsent(symbol, fetch);
+        if (inFlight != null) {
+            // Another caller is already fetching this symbol
+            coalescedQuoteRequests.increment();
+            logger.debug("Joining in-flight quote fetch for symbol: {}", symbol);
+            return fetchedLookup(awaitQuote(inFlight));
+        }
+
+        originatedQuoteRequests.increment();
+        return fetchedLookup(completeFetch(symbol, fetch, Priority.INTERACTIVE, 0));
+    }
 
-            // Validate response
-            if (body == null) {
-                throw new StockApiException("Empty response from Alpha Vantage");
+    // A fetch can still hand back an old quote when the provider fails or the rate limit is hit
+    private QuoteLookup fetchedLookup(StockQuoteDTO quote) {
+        boolean stale = quote.getAsOf() != null
+                && System.currentTimeMillis() > quoteCache.freshUntil(quote.getAsOf().toEpochMilli());
+        return new QuoteLookup(quote, stale ? QuoteSource.STALE : QuoteSource.FRESH);
+    }
+
+    private void refreshInBackground(String symbol) {
+        refreshInBackground(symbol, 0);
+    }
+
+    private boolean refreshInBackground(String symbol, long minFreshMs) {
+        CompletableFuture<StockQuoteDTO> fetch = new CompletableFuture<>();
+        if (inFlightQuotes.putIfAbsent(symbol, fetch) != null) {
+            return false; // a refresh is already running
+        }
+
+        originatedQuoteRequests.increment();
+        quoteExecutor.execute(() -> {
+            try {
+                completeFetch(symbol, fetch, Priority.BACKGROUND, minFreshMs);
+            } catch (RuntimeException e) {
+                logger.warn("Background refresh failed for symbol {}: {}", symbol, e.getMessage());
             }
+        });
+        return true;
+    }
 
-            if (body.containsKey("Error Message")) {
-                throw new ResourceNotFoundException("Stock data not found for symbol: " + symbol);
+    // Performs the fetch for the caller that owns the in-flight slot and publishes the result to any waiters.
+    // A cached quote is good enough if it stays fresh for more than minFreshMs.
+    private StockQuoteDTO completeFetch(String symbol, CompletableFuture<StockQuoteDTO> fetch, Priority priority,
+                                        long minFreshMs) {
+        try {
+            // The previous fetch may have completed between the cache check and claiming the slot
+            CachedQuote latest = quoteCache.get(symbol);
+            if (!isFreshFor(latest, minFreshMs)) {
+                // Another node may already have fetched it
+                latest = newerSharedQuote(symbol, latest);
             }
+            StockQuoteDTO quote = isFreshFor(latest, minFreshMs)
+                    ? latest.getQuote()
+                    : fetchAsOwner(symbol, latest, priority);
+            fetch.complete(quote);
+            return quote;
+        } catch (RuntimeException e) {
+            fetch.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightQuotes.remove(symbol, fetch);
+        }
+    }
+
+    private boolean isFreshFor(CachedQuote cached, long ms) {
+        return cached != null && cached.getFreshUntil() - System.currentTimeMillis() > ms;
+    }
 
-            if (body.containsKey("Note")) {
-                logger.warn("API rate limit warning: {}", body.get("Note"));
+    // Only the node holding the symbol's fetch lease calls the provider; the others poll the shared store
+    // for its result. A waiter outlasts any lease it saw, so it takes over once an owner that failed to
+    // deliver lets the lease lapse; it never calls the provider without holding the lease.
+    private StockQuoteDTO fetchAsOwner(String symbol, CachedQuote latest, Priority priority) {
+        if (!quoteProvider.isRemote() || !quoteFetchLeaseService.isEnabled() || !sharedQuoteStore.isEnabled()) {
+            return fetchStockQuote(symbol, latest, priority);
+        }
+
+        long waitMs = quoteFetchLeaseService.getLeaseMs() + ownerPollIntervalMs;
+        long deadline = System.currentTimeMillis() + waitMs;
+        while (true) {
+            if (claimFetchLease(symbol)) {
+                return fetchHoldingLease(symbol, latest, priority);
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                break;
+            }
+            try {
+                Thread.sleep(ownerPollIntervalMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            CachedQuote shared = newerSharedQuote(symbol, latest);
+            if (shared != latest) {
+                ownerQuotesDelivered.increment();
+                return shared.getQuote();
+            }
+            Optional<String> notFound = sharedNotFound(symbol);
+            if (notFound.isPresent()) {
+                ownerNotFoundDelivered.increment();
+                negativeQuoteCache.put(symbol, notFound.get());
+                throw new ResourceNotFoundException(notFound.get());
             }
+        }
 
-            // Parse time series data
-            Map<String, Object> timeSeries = (Map<String, Object>) body.get("Time Series (5min)");
-            if (timeSeries == null || timeSeries.isEmpty()) {
-                throw new ResourceNotFoundException("No recent data available for symbol: " + symbol);
+        // The lease keeps being renewed without a quote reaching the store; don't add another upstream call
+        ownerQuotesTimedOut.increment();
+        logger.warn("No quote for {} from the lease owner within {} ms", symbol, waitMs);
+        return fallBackToCache(latest, "Quote for " + symbol + " not delivered by the fetching node");
+    }
+
+    private StockQuoteDTO fetchHoldingLease(String symbol, CachedQuote latest, Priority priority) {
+        boolean keepLease = false;
+        try {
+            return fetchStockQuote(symbol, latest, priority);
+        } catch (ResourceNotFoundException e) {
+            // Hold the lease until it expires so the other nodes read this answer instead of asking again
+            keepLease = markNotFound(symbol, e.getMessage());
+            throw e;
+        } finally {
+            if (!keepLease) {
+                releaseFetchLease(symbol);
             }
+        }
+    }
 
-            // Get most recent data point
-            String latestTimestamp = timeSeries.keySet().iterator().next();
-            Map<String, String> latestData = (Map<String, String>) timeSeries.get(latestTimestamp);
+    private boolean claimFetchLease(String symbol) {
+        try {
+            return quoteFetchLeaseService.tryClaim(symbol);
+        } catch (RuntimeException e) {
+            // Without the lease table we can only fall back to fetching independently
+            logger.warn("Could not claim fetch lease for {}: {}", symbol, e.getMessage());
+            return true;
+        }
+    }
 
-            // Create and populate StockQuoteDTO
-            StockQuoteDTO quote = new StockQuoteDTO();
-            quote.setSymbol(symbol);
+    private boolean markNotFound(String symbol, String message) {
+        try {
+            return quoteFetchLeaseService.markNotFound(symbol, message);
+        } catch (RuntimeException e) {
+            logger.warn("Could not record not-found answer for {}: {}", symbol, e.getMessage());
+            return false;
+        }
+    }
 
-            try {
-                double closePrice = Double.parseDouble(latestData.get("4. close"));
-                double openPrice = Double.parseDouble(latestData.get("1. open"));
+    private Optional<String> sharedNotFound(String symbol) {
+        try {
+            return quoteFetchLeaseService.findNotFound(symbol);
+        } catch (RuntimeException e) {
+            logger.warn("Fetch lease lookup failed for {}: {}", symbol, e.getMessage());
+            return Optional.empty();
+        }
+    }
 
-                quote.setCurrentPrice(closePrice);
-                quote.setHigh(Double.parseDouble(latestData.get("2. high")));
-                quote.setLow(Double.parseDouble(latestData.get("3. low")));
-                quote.setVolume(Long.parseLong(latestData.get("5. volume")));
+    private void releaseFetchLease(String symbol) {
+        try {
+            quoteFetchLeaseService.release(symbol);
+        } catch (RuntimeException e) {
+            // The lease expires on its own
+            logger.warn("Could not release fetch lease for {}: {}", symbol, e.getMessage());
+        }
+    }
 
-                // Calculate change and percentage
-                double change = closePrice - openPrice;
-                double changePercent = (change / openPrice) * 100;
+    // Adopts the shared store's quote into the local cache if it is newer than what we have
+    private CachedQuote newerSharedQuote(String symbol, CachedQuote latest) {
+        try {
+            Optional<StockQuoteDTO> shared = sharedQuoteStore.find(symbol);
+            if (shared.isPresent()) {
+                long fetchedAt = shared.get().getAsOf().toEpochMilli();
+                boolean newer = latest == null || fetchedAt > latest.getTimestamp();
+                boolean usable = quoteCache.isUsable(fetchedAt);
+                if (newer && usable) {
+                    sharedQuoteHits.increment();
+                    return quoteCache.put(symbol, shared.get());
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Shared quote store lookup failed for {}: {}", symbol, e.getMessage());
+        }
+        return latest;
+    }
 
-                quote.setChange(roundToTwoDecimals(change));
-                quote.setChangePercent(roundToTwoDecimals(changePercent));
+    private void publishToSharedStore(StockQuoteDTO quote) {
+        try {
+            sharedQuoteStore.save(quote);
+        } catch (RuntimeException e) {
+            // Other nodes just miss out on this quote
+            logger.warn("Could not write quote for {} to the shared store: {}", quote.getSymbol(), e.getMessage());
+        }
+    }
+
+    private StockQuoteDTO awaitQuote(CompletableFuture<StockQuoteDTO> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new StockApiException("Failed to fetch stock quote: " + e.getCause().getMessage());
+        }
+    }
+
+    private StockQuoteDTO fetchStockQuote(String symbol, CachedQuote cached, Priority priority) {
+        // Only remote providers cost quota and need protecting; local ones (mock, replay) are called directly
+        boolean remote = quoteProvider.isRemote();
+        CircuitBreaker.Permit permit = null;
+        if (remote) {
+            // Fail fast while the provider is unhealthy instead of holding the thread for the read timeout
+            if (circuitBreaker.rejectsCalls()) {
+                logger.warn("Circuit open for quote provider; not fetching {}", symbol);
+                return fallBackToCache(cached, "Quote provider unavailable");
+            }
+
+            // Take a request from the API key's quota; background refreshes yield to interactive callers
+            long maxWaitMs = priority == Priority.INTERACTIVE ? interactiveMaxWaitMs : backgroundMaxWaitMs;
+            if (!rateLimiter.tryAcquire(priority, maxWaitMs)) {
+                logger.warn("Rate limit exceeded for symbol: {}. Using cached data if available.", symbol);
+                return fallBackToCache(cached, "Rate limit exceeded");
+            }
+
+            // Only ask for a permit once the call can go out, so a half-open probe slot is never held
+            // while this thread queues for quota
+            permit = circuitBreaker.tryAcquirePermission();
+            if (permit == null) {
+                logger.warn("Circuit open for quote provider; not fetching {}", symbol);
+                return fallBackToCache(cached, "Quote provider unavailable");
+            }
+
+            if (!bulkhead.tryAcquire()) {
+                circuitBreaker.onIgnored(permit);
+                logger.warn("Too many concurrent quote fetches; not fetching {}", symbol);
+                return fallBackToCache(cached, "Too many concurrent quote requests");
+            }
+        }
 
-            } catch (NumberFormatException e) {
-                logger.error("Error parsing numeric values for symbol {}: {}", symbol, e.getMessage());
-                throw new StockApiException("Error parsing stock data values");
+        try {
+            StockQuoteDTO quote;
+            long start = System.nanoTime();
+            try {
+                quote = quoteProvider.fetchQuote(symbol);
+                recordOutcome(permit, Outcome.SUCCESS, start);
+            } catch (ResourceNotFoundException e) {
+                // The provider answered; the symbol just does not exist
+                recordOutcome(permit, Outcome.SUCCESS, start);
+                throw e;
+            } catch (QuoteThrottledException e) {
+                recordOutcome(permit, Outcome.IGNORED, start);
+                throw e;
+            } catch (RuntimeException e) {
+                // Connection errors, timeouts, 5xx and unreadable bodies count against the breaker
+                recordOutcome(permit, Outcome.FAILURE, start);
+                throw e;
+            } finally {
+                if (remote) {
+                    bulkhead.release();
+                }
             }
 
-            // Cache the quote
-            quoteCache.put(symbol, new CachedStockQuote(quote));
+            // Cache the quote locally and for the other nodes
+            quoteCache.put(symbol, quote);
+            publishToSharedStore(quote);
             return quote;
 
+        } catch (ResourceNotFoundException e) {
+            // A definite answer rather than a failure: remember it, but leave any cached quote alone
+            negativeQuoteCache.put(symbol, e.getMessage());
+            throw e;
         } catch (Exception e) {
             logger.error("Error fetching stock quote for {}: {}", symbol, e.getMessage());
             // Try to return expired cache if available during error
             if (cached != null) {
                 logger.warn("Returning expired cached data due to API error");
-                return cached.quote;
+                return cached.getQuote();
             }
             throw new StockApiException("Failed to fetch stock quote: " + e.getMessage());
         }
     }
 
-    private StockQuoteDTO getMockStockQuote(String symbol) {
-        StockQuoteDTO quote = new StockQuoteDTO();
-        quote.setSymbol(symbol);
-        quote.setCurrentPrice(100.00);
-        quote.setChange(2.50);
-        quote.setChangePercent(2.50);
-        quote.setHigh(102.00);
-        quote.setLow(98.00);
-        quote.setVolume(1000000L);
-        return quote;
+    private enum Outcome {
+        SUCCESS, FAILURE, IGNORED
     }
 
-    private double roundToTwoDecimals(double value) {
-        return Math.round(value * 100.0) / 100.0;
+    // permit is null for local providers, which bypass the breaker
+    private void recordOutcome(CircuitBreaker.Permit permit, Outcome outcome, long startNanos) {
+        if (permit == null) {
+            return;
+        }
+        switch (outcome) {
+            case SUCCESS -> circuitBreaker.onSuccess(permit, System.nanoTime() - startNanos);
+            case FAILURE -> circuitBreaker.onFailure(permit);
+            case IGNORED -> circuitBreaker.onIgnored(permit);
+        }
     }
 
+    private StockQuoteDTO fallBackToCache(CachedQuote cached, String reason) {
+        if (cached != null) {
+            return cached.getQuote();
+        }
+        throw new StockApiException(reason + " and no cached data available");
+    }
 
-    public Map<String, Double> calculatePortfolioPerformance(Long userId) {
-        List<Investment> investments = investmentRepository.findByUserId(userId);
-
-        // Group by symbol to reduce API calls
-        Map<String, Double> totalQuantityBySymbol = investments.stream()
-                .collect(Collectors.groupingBy(
-                        Investment::getSymbol,
-                        Collectors.summingDouble(Investment::getQuantity)
-                ));
+    public PortfolioPerformanceDTO calculatePortfolioPerformance(Long userId) {
+        // One row per symbol, maintained as lots change
+        List<Position> positions = positionService.getPositions(userId);
+
+        // Look up all symbols concurrently; cached ones complete immediately. Keyed by the normalized symbol
+        // so rows written before symbols were normalized still find the shared cache entry.
+        Map<String, Future<QuoteLookup>> lookups = new TreeMap<>();
+        for (Position position : positions) {
+            String symbol = StockSymbols.normalize(position.getSymbol());
+            if (symbol != null && !lookups.containsKey(symbol)) {
+                lookups.put(symbol, quoteExecutor.submit(() -> lookupStockQuote(symbol)));
+            }
+        }
 
-        // Fetch quotes for unique symbols
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(portfolioQuoteDeadlineMs);
         Map<String, StockQuoteDTO> quotes = new HashMap<>();
-        for (String symbol : totalQuantityBySymbol.keySet()) {
+        Map<String, QuoteSource> quoteSources = new TreeMap<>();
+        List<String> unpricedSymbols = new ArrayList<>();
+        for (Map.Entry<String, Future<QuoteLookup>> entry : lookups.entrySet()) {
+            String symbol = entry.getKey();
             try {
-                quotes.put(symbol, getStockQuote(symbol));
-            } catch (StockApiException e) {
-                logger.error("Error fetching quote for {}: {}", symbol, e.getMessage());
-                // Continue with other symbols
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                QuoteLookup lookup = entry.getValue().get(remaining, TimeUnit.NANOSECONDS);
+                quotes.put(symbol, lookup.quote());
+                quoteSources.put(symbol, lookup.source());
+            } catch (TimeoutException e) {
+                // Left running so the fetch still lands in the cache for the next call
+                logger.warn("Quote for {} missed the portfolio deadline", symbol);
+            } catch (ExecutionException e) {
+                logger.error("Error fetching quote for {}: {}", symbol, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!quotes.containsKey(symbol)) {
+                // Fall back to the last price we hold, however old
+                CachedQuote cached = quoteCache.get(symbol);
+                if (cached != null) {
+                    quotes.put(symbol, cached.getQuote());
+                    quoteSources.put(symbol, QuoteSource.STALE);
+                } else {
+                    unpricedSymbols.add(symbol);
+                }
             }
         }
 
-        double totalInvested = investments.stream()
-                .mapToDouble(inv -> inv.getQuantity() * inv.getPurchasePrice())
-                .sum();
-
-        double currentValue = investments.stream()
-                .filter(inv -> quotes.containsKey(inv.getSymbol()))
-                .mapToDouble(inv -> inv.getQuantity() *
-                        quotes.get(inv.getSymbol()).getCurrentPrice())
-                .sum();
+        // Unpriced positions are left out of both totals so they don't show up as a total loss
+        double totalInvested = 0;
+        double currentValue = 0;
+        for (Position position : positions) {
+            StockQuoteDTO quote = quotes.get(StockSymbols.normalize(position.getSymbol()));
+            if (quote != null) {
+                totalInvested += position.getCostBasis();
+                currentValue += position.getQuantity() * quote.getCurrentPrice();
+            }
+        }
 
         double profitLoss = currentValue - totalInvested;
-        double returnPercentage = (profitLoss / totalInvested) * 100;
-
+        double returnPercentage = totalInvested > 0 ? (profitLoss / totalInvested) * 100 : 0.0;
 
-        Map<String, Double> performance = new HashMap<>();
-        performance.put("totalInvested", totalInvested);
-        performance.put("currentValue", currentValue);
-        performance.put("profitLoss", profitLoss);
-        performance.put("returnPercentage", returnPercentage);
+        PortfolioPerformanceDTO performance = new PortfolioPerformanceDTO();
+        performance.setTotalInvested(totalInvested);
+        performance.setCurrentValue(currentValue);
+        performance.setProfitLoss(profitLoss);
+        performance.setReturnPercentage(returnPercentage);
+        performance.setQuoteSources(quoteSources);
+        performance.setUnpricedSymbols(unpricedSymbols);
 
         return performance;
     }
 
+    @PreDestroy
+    public void shutdown() {
+        quoteExecutor.shutdownNow();
+    }
+
     private InvestmentResponseDTO convertToResponseDTO(Investment investment) {
         InvestmentResponseDTO dto = new InvestmentResponseDTO();
         dto.setId(investment.getId());
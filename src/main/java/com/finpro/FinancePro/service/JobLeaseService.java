@@ -0,0 +1,32 @@
+package com.finpro.FinancePro.service;
+
+import com.finpro.FinancePro.repository.JobLeaseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Keeps cluster-wide jobs to one node at a time. Every replica fires the same @Scheduled methods; the first
+// to claim the job's row in job_lease runs it and the others skip that run. A node that dies mid-run leaves
+// its lease to expire, after which the next trigger on any node picks the job up again.
+@Service
+public class JobLeaseService {
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Transactional
+    public boolean tryClaim(String job, long leaseMs) {
+        Instant now = Instant.now();
+        return jobLeaseRepository.claim(job, nodeId, now.plusMillis(leaseMs), now) > 0;
+    }
+
+    @Transactional
+    public void release(String job) {
+        jobLeaseRepository.release(job, nodeId);
+    }
+}
@@ -0,0 +1,119 @@
+package com.finpro.FinancePro.service;
+
+import com.finpro.FinancePro.dto.Response.PositionRepairResultDTO;
+import com.finpro.FinancePro.repository.PositionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Nightly verification of every user's positions against their investment lots, logging how many had drifted.
+// investment.position.backfill.enabled runs a one-off backfill after startup, on its own thread, for users
+// whose lots predate positions. Both hold a job lease so only one node runs them at a time.
+@Component
+public class PositionReconciliationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(PositionReconciliationJob.class);
+
+    private static final int PAGE_SIZE = 100;
+
+    static final String RECONCILE_JOB = "position-reconcile";
+    static final String BACKFILL_JOB = "position-backfill";
+
+    @Autowired
+    private PositionRepository positionRepository;
+
+    @Autowired
+    private PositionService positionService;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Value("${investment.position.backfill.enabled:false}")
+    private boolean backfillEnabled;
+
+    @Value("${investment.position.job-lease-ms:3600000}")
+    private long jobLeaseMs;  // 1 hour by default; longer than a full run
+
+    // Readiness doesn't wait for the backfill; until it finishes, affected users see an empty portfolio
+    @EventListener(ApplicationReadyEvent.class)
+    public void startBackfill() {
+        if (backfillEnabled) {
+            Thread.ofVirtual().name("position-backfill").start(this::backfillMissingPositions);
+        }
+    }
+
+    @Scheduled(cron = "${investment.position.reconcile-cron:0 30 3 * * *}")
+    public void reconcileAll() {
+        runExclusively(RECONCILE_JOB, () -> {
+            int users = 0;
+            int checked = 0;
+            int drifted = 0;
+            Long afterUserId = 0L;
+            List<Long> userIds;
+            do {
+                userIds = positionRepository.findUserIdsAfter(afterUserId, PAGE_SIZE);
+                for (Long userId : userIds) {
+                    // Each user is reconciled in its own short transaction
+                    PositionRepairResultDTO result = positionService.reconcile(userId);
+                    users++;
+                    checked += result.getPositionsChecked();
+                    drifted += result.getPositionsDrifted();
+                    afterUserId = userId;
+                }
+            } while (userIds.size() == PAGE_SIZE);
+
+            logger.info("Position reconciliation checked {} positions for {} users, {} had drifted",
+                    checked, users, drifted);
+        });
+    }
+
+    // Builds positions only for users who have lots but no positions yet; everyone else is left untouched
+    public void backfillMissingPositions() {
+        runExclusively(BACKFILL_JOB, () -> {
+            int users = 0;
+            Long afterUserId = 0L;
+            List<Long> userIds;
+            do {
+                userIds = positionRepository.findUserIdsWithoutPositionsAfter(afterUserId, PAGE_SIZE);
+                for (Long userId : userIds) {
+                    positionService.reconcile(userId);
+                    users++;
+                    afterUserId = userId;
+                }
+            } while (userIds.size() == PAGE_SIZE);
+
+            logger.info("Position backfill built positions for {} users", users);
+        });
+    }
+
+    private void runExclusively(String job, Runnable run) {
+        try {
+            if (!jobLeaseService.tryClaim(job, jobLeaseMs)) {
+                logger.debug("Skipping {}; another node is running it", job);
+                return;
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not claim job lease for {}; skipping this run: {}", job, e.getMessage());
+            return;
+        }
+        try {
+            run.run();
+        } catch (RuntimeException e) {
+            logger.error("{} failed: {}", job, e.getMessage(), e);
+        } finally {
+            try {
+                jobLeaseService.release(job);
+            } catch (RuntimeException e) {
+                // The lease expires on its own
+                logger.warn("Could not release job lease for {}: {}", job, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.finpro.FinancePro.service;
+
+import com.finpro.FinancePro.dto.Response.PositionRepairResultDTO;
+import com.finpro.FinancePro.entity.Position;
+import com.finpro.FinancePro.repository.InvestmentRepository;
+import com.finpro.FinancePro.repository.PositionRepository;
+import com.finpro.FinancePro.repository.UserRepository;
+import com.finpro.FinancePro.util.StockSymbols;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Maintains per-user positions (quantity and cost basis per symbol) as an aggregate of the Investment lots.
+// Lot changes are applied as deltas inside the transaction that changed the lot; reconciliation recomputes
+// a user's positions from the lots and rewrites them if they have drifted.
+@Service
+public class PositionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PositionService.class);
+
+    private static final double QUANTITY_TOLERANCE = 1e-9;
+    private static final double COST_TOLERANCE = 0.005;
+
+    @Autowired
+    private PositionRepository positionRepository;
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Joins the caller's transaction, so the position changes commit or roll back with the lot
+    @Transactional
+    public void applyLotDelta(Long userId, String symbol, double quantityDelta, double costDelta) {
+        symbol = StockSymbols.normalize(symbol);
+        if (symbol == null || (quantityDelta == 0 && costDelta == 0)) {
+            return;
+        }
+        // Waits for a running reconciliation of this user
+        userRepository.findByIdForUpdate(userId);
+        positionRepository.applyDelta(userId, symbol, quantityDelta, costDelta, LocalDateTime.now());
+        if (quantityDelta < 0) {
+            positionRepository.deleteIfEmpty(userId, symbol, QUANTITY_TOLERANCE);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<Position> getPositions(Long userId) {
+        return positionRepository.findByUserId(userId);
+    }
+
+    // Compare a user's positions with their lots, rewrite them if they differ, and report the drift
+    @Transactional
+    public PositionRepairResultDTO reconcile(Long userId) {
+        // Lock first so concurrent deltas either land before the comparison or wait until it commits
+        userRepository.findByIdForUpdate(userId);
+
+        // Lots written before symbols were normalized are merged into the normalized position
+        Map<String, LotTotal> lots = new HashMap<>();
+        for (InvestmentRepository.SymbolTotal total : investmentRepository.sumBySymbol(userId)) {
+            String symbol = StockSymbols.normalize(total.getSymbol());
+            if (symbol != null) {
+                lots.computeIfAbsent(symbol, key -> new LotTotal())
+                        .add(valueOf(total.getQuantity()), valueOf(total.getCostBasis()));
+            }
+        }
+        Map<String, Position> stored = new HashMap<>();
+        int drifted = 0;
+        for (Position position : positionRepository.findByUserId(userId)) {
+            String symbol = StockSymbols.normalize(position.getSymbol());
+            if (!position.getSymbol().equals(symbol) || stored.putIfAbsent(symbol, position) != null) {
+                // Not in normalized form, or a second row for the same holding
+                drifted++;
+                logger.warn("Position {} for user {} is not stored under its normalized symbol",
+                        position.getSymbol(), userId);
+            }
+        }
+
+        Set<String> symbols = new TreeSet<>(lots.keySet());
+        symbols.addAll(stored.keySet());
+        for (String symbol : symbols) {
+            if (!matches(stored.get(symbol), lots.get(symbol))) {
+                drifted++;
+                logger.warn("Position {} for user {} drifted from its lots", symbol, userId);
+            }
+        }
+
+        if (drifted > 0) {
+            positionRepository.deleteByUserId(userId);
+            LocalDateTime now = LocalDateTime.now();
+            for (Map.Entry<String, LotTotal> entry : lots.entrySet()) {
+                LotTotal total = entry.getValue();
+                if (Math.abs(total.quantity) >= QUANTITY_TOLERANCE) {
+                    positionRepository.applyDelta(userId, entry.getKey(), total.quantity, total.costBasis, now);
+                }
+            }
+        }
+
+        PositionRepairResultDTO result = new PositionRepairResultDTO();
+        result.setUserId(userId);
+        result.setPositionsChecked(symbols.size());
+        result.setPositionsDrifted(drifted);
+        return result;
+    }
+
+    private static class LotTotal {
+        private double quantity;
+        private double costBasis;
+
+        void add(double quantity, double costBasis) {
+            this.quantity += quantity;
+            this.costBasis += costBasis;
+        }
+    }
+
+    private boolean matches(Position position, LotTotal lots) {
+        double lotQuantity = lots == null ? 0 : lots.quantity;
+        double lotCost = lots == null ? 0 : lots.costBasis;
+        if (position == null) {
+            // Lots that net out to nothing have no position
+            return Math.abs(lotQuantity) < QUANTITY_TOLERANCE;
+        }
+        return Math.abs(position.getQuantity() - lotQuantity) < QUANTITY_TOLERANCE
+                && Math.abs(position.getCostBasis() - lotCost) < COST_TOLERANCE;
+    }
+
+    private static double valueOf(Double value) {
+        return value == null ? 0 : value;
+    }
+}
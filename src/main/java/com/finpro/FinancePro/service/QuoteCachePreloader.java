@@ -0,0 +1,50 @@
+package com.finpro.FinancePro.service;
+
+import com.finpro.FinancePro.dto.Response.StockQuoteDTO;
+import com.finpro.FinancePro.util.QuoteCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+// Warms the local quote cache from the shared store at startup. Runners complete before the application
+// publishes its readiness, so a new node only takes traffic once its hot symbols are cached.
+@Component
+public class QuoteCachePreloader implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuoteCachePreloader.class);
+
+    @Autowired
+    private SharedQuoteStore sharedQuoteStore;
+
+    @Autowired
+    private QuoteCache quoteCache;
+
+    @Value("${quote.store.preload-limit:500}")
+    private int preloadLimit;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!sharedQuoteStore.isEnabled() || preloadLimit <= 0) {
+            return;
+        }
+        try {
+            // Anything past its hard TTL would be dropped by the cache straight away
+            Instant since = quoteCache.oldestUsableFetchTime();
+            List<StockQuoteDTO> quotes = sharedQuoteStore.findFetchedSince(since, preloadLimit).stream()
+                    .filter(quote -> quoteCache.isUsable(quote.getAsOf().toEpochMilli()))
+                    .toList();
+            quotes.forEach(quote -> quoteCache.put(quote.getSymbol(), quote));
+            logger.info("Preloaded {} quotes from the shared quote store", quotes.size());
+        } catch (RuntimeException e) {
+            // A cold cache is slower, not broken
+            logger.warn("Could not preload quotes from the shared quote store: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.finpro.FinancePro.service;
+
+import com.finpro.FinancePro.entity.QuoteFetchLease;
+import com.finpro.FinancePro.repository.QuoteFetchLeaseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+// Cluster-wide ownership of upstream quote fetches. Before calling the provider a node claims a short
+// lease on the symbol in quote_fetch_lease; other nodes that miss the same symbol wait for the owner's
+// result in the shared quote store instead of making their own call. A lease that is not released
+// (e.g. the owner crashed) simply expires after quote.ownership.lease-ms. An owner told the symbol does not
+// exist keeps its lease until expiry with the answer recorded on it, so the cluster asks at most once per lease.
+@Service
+public class QuoteFetchLeaseService {
+
+    @Autowired
+    private QuoteFetchLeaseRepository quoteFetchLeaseRepository;
+
+    @Value("${quote.ownership.enabled:true}")
+    private boolean enabled;
+
+    @Value("${quote.ownership.lease-ms:15000}")
+    private long leaseMs;
+
+    @Value("${quote.ownership.node-id:#{null}}")
+    private String configuredNodeId;
+
+    private final String randomNodeId = UUID.randomUUID().toString();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getLeaseMs() {
+        return leaseMs;
+    }
+
+    public String getNodeId() {
+        return configuredNodeId != null ? configuredNodeId : randomNodeId;
+    }
+
+    @Transactional
+    public boolean tryClaim(String symbol) {
+        Instant now = Instant.now();
+        return quoteFetchLeaseRepository.claim(symbol, getNodeId(), now.plusMillis(leaseMs), now) > 0;
+    }
+
+    @Transactional
+    public void release(String symbol) {
+        quoteFetchLeaseRepository.release(symbol, getNodeId());
+    }
+
+    @Transactional
+    public boolean markNotFound(String symbol, String message) {
+        return quoteFetchLeaseRepository.markNotFound(symbol, getNodeId(), message) > 0;
+    }
+
+    // The not-found answer recorded on a lease that is still held, if any
+    @Transactional(readOnly = true)
+    public Optional<String> findNotFound(String symbol) {
+        Instant now = Instant.now();
+        return quoteFetchLeaseRepository.findById(symbol)
+                .filter(lease -> lease.getNotFoundMessage() != null && lease.getExpiresAt().isAfter(now))
+                .map(QuoteFetchLease::getNotFoundMessage);
+    }
+}
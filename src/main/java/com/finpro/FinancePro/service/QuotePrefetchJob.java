@@ -0,0 +1,83 @@
+package com.finpro.FinancePro.service;
+
+import com.finpro.FinancePro.util.QuotePopularity;
+import com.finpro.FinancePro.util.RateLimiter;
+import com.finpro.FinancePro.util.TradingCalendar;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+// During trading hours, refreshes the most looked-up symbols shortly before their quotes expire so users
+// always hit a warm cache. Off by default: every prefetch spends API quota, and the job stops while the
+// daily quota is down to quote.prefetch.min-daily-remaining so interactive lookups keep their share.
+@Component
+public class QuotePrefetchJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuotePrefetchJob.class);
+
+    @Autowired
+    private InvestmentService investmentService;
+
+    @Autowired
+    private QuotePopularity quotePopularity;
+
+    @Autowired
+    private TradingCalendar tradingCalendar;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${quote.prefetch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${quote.prefetch.top-n:10}")
+    private int topN;
+
+    @Value("${quote.prefetch.lead-ms:60000}")
+    private long leadMs;
+
+    @Value("${quote.prefetch.min-daily-remaining:5}")
+    private int minDailyRemaining;
+
+    private Counter prefetches;
+
+    @PostConstruct
+    void registerMetrics() {
+        prefetches = Counter.builder("stock.quote.prefetches")
+                .description("Background refreshes started for popular symbols before their quotes expired")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${quote.prefetch.interval-ms:30000}")
+    public void prefetch() {
+        if (!enabled || !tradingCalendar.isOpen(Instant.now())) {
+            return;
+        }
+        if (rateLimiter.getDailyRemaining() <= minDailyRemaining) {
+            logger.debug("Skipping quote prefetch; daily quota is nearly used up");
+            return;
+        }
+
+        int started = 0;
+        for (String symbol : quotePopularity.top(topN)) {
+            if (investmentService.prefetchStockQuote(symbol, leadMs)) {
+                started++;
+            }
+        }
+        prefetches.increment(started);
+        if (started > 0) {
+            logger.debug("Started {} quote prefetches", started);
+        }
+    }
+}
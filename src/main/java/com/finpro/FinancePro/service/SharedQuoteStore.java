@@ -0,0 +1,72 @@
+package com.finpro.FinancePro.service;
+
+import com.finpro.FinancePro.dto.Response.StockQuoteDTO;
+import com.finpro.FinancePro.entity.StoredQuote;
+import com.finpro.FinancePro.repository.StoredQuoteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+// Second-level quote cache in the database, shared by every node. Checked after the local QuoteCache
+// and written after every provider fetch, so one upstream call serves the whole cluster.
+@Service
+public class SharedQuoteStore {
+
+    @Autowired
+    private StoredQuoteRepository storedQuoteRepository;
+
+    @Value("${quote.store.enabled:true}")
+    private boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<StockQuoteDTO> find(String symbol) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return storedQuoteRepository.findById(symbol).map(this::toDTO);
+    }
+
+    @Transactional
+    public void save(StockQuoteDTO quote) {
+        if (!enabled || quote.getAsOf() == null) {
+            return;
+        }
+        storedQuoteRepository.upsert(quote.getSymbol(), quote.getCurrentPrice(), quote.getChange(),
+                quote.getChangePercent(), quote.getHigh(), quote.getLow(), quote.getVolume(), quote.getAsOf());
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockQuoteDTO> findFetchedSince(Instant since, int limit) {
+        if (!enabled) {
+            return List.of();
+        }
+        return storedQuoteRepository.findByFetchedAtAfterOrderByFetchedAtDesc(since, PageRequest.of(0, limit))
+                .stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    private StockQuoteDTO toDTO(StoredQuote storedQuote) {
+        StockQuoteDTO quote = new StockQuoteDTO();
+        quote.setSymbol(storedQuote.getSymbol());
+        quote.setCurrentPrice(storedQuote.getCurrentPrice());
+        quote.setChange(storedQuote.getChange());
+        quote.setChangePercent(storedQuote.getChangePercent());
+        quote.setHigh(storedQuote.getHigh());
+        quote.setLow(storedQuote.getLow());
+        quote.setVolume(storedQuote.getVolume());
+        quote.setAsOf(storedQuote.getFetchedAt());
+        return quote;
+    }
+}
@@ -0,0 +1,189 @@
+package com.finpro.FinancePro.service;
+
+import com.finpro.FinancePro.dto.Response.SymbolDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Listed symbols loaded from an Alpha Vantage LISTING_STATUS CSV export (symbols.directory.file), used to
+// validate symbols and autocomplete them without a quote call. The listing is kept as sorted parallel
+// arrays, so lookups are a binary search and prefix matches a contiguous range. A scheduled job re-reads
+// the file in the background and swaps in the new listing in one step; readers never see a partial load.
+@Component
+public class SymbolDirectory {
+
+    private static final Logger logger = LoggerFactory.getLogger(SymbolDirectory.class);
+
+    @Value("${symbols.directory.file:}")
+    private String directoryFile;
+
+    private final AtomicReference<Listing> listing = new AtomicReference<>(Listing.EMPTY);
+
+    private record Listing(String[] symbols, String[] names, String[] exchanges) {
+        static final Listing EMPTY = new Listing(new String[0], new String[0], new String[0]);
+
+        // Index of the first symbol >= key
+        int lowerBound(String key) {
+            int index = Arrays.binarySearch(symbols, key);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${symbols.directory.refresh-ms:86400000}")
+    public void refresh() {
+        if (directoryFile.isBlank()) {
+            return;
+        }
+        Path path = Path.of(directoryFile);
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            load(reader);
+            logger.info("Loaded {} symbols from {}", size(), path);
+        } catch (IOException | RuntimeException e) {
+            // Keep serving the previous listing
+            logger.warn("Could not load symbol directory from {}: {}", path, e.getMessage());
+        }
+    }
+
+    // Parses a LISTING_STATUS CSV (symbol,name,exchange,assetType,ipoDate,delistingDate,status) and
+    // replaces the current listing; rows whose status is not Active are skipped
+    public void load(Reader source) throws IOException {
+        BufferedReader reader = new BufferedReader(source);
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IOException("Listing file is empty");
+        }
+        List<String> columns = parseCsvLine(header);
+        int symbolColumn = columns.indexOf("symbol");
+        int nameColumn = columns.indexOf("name");
+        int exchangeColumn = columns.indexOf("exchange");
+        int statusColumn = columns.indexOf("status");
+        if (symbolColumn < 0) {
+            throw new IOException("Listing file has no symbol column");
+        }
+
+        List<SymbolDTO> entries = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> fields = parseCsvLine(line);
+            if (statusColumn >= 0 && statusColumn < fields.size()
+                    && !"Active".equalsIgnoreCase(fields.get(statusColumn))) {
+                continue;
+            }
+            String symbol = field(fields, symbolColumn);
+            if (symbol == null || symbol.isEmpty()) {
+                continue;
+            }
+            entries.add(new SymbolDTO(symbol.toUpperCase(Locale.ROOT), field(fields, nameColumn),
+                    field(fields, exchangeColumn)));
+        }
+        replace(entries);
+    }
+
+    public void replace(List<SymbolDTO> entries) {
+        List<SymbolDTO> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparing(SymbolDTO::getSymbol));
+
+        // Drop duplicate symbols (the same ticker listed twice keeps its first row)
+        List<SymbolDTO> unique = new ArrayList<>(sorted.size());
+        for (SymbolDTO entry : sorted) {
+            if (unique.isEmpty() || !unique.get(unique.size() - 1).getSymbol().equals(entry.getSymbol())) {
+                unique.add(entry);
+            }
+        }
+
+        int size = unique.size();
+        String[] symbols = new String[size];
+        String[] names = new String[size];
+        String[] exchanges = new String[size];
+        for (int i = 0; i < size; i++) {
+            symbols[i] = unique.get(i).getSymbol();
+            names[i] = unique.get(i).getName();
+            exchanges[i] = unique.get(i).getExchange();
+        }
+        listing.set(new Listing(symbols, names, exchanges));
+    }
+
+    // Nothing loaded means "unknown", not "invalid"; callers fall back to a live quote
+    public boolean isLoaded() {
+        return listing.get().symbols().length > 0;
+    }
+
+    public int size() {
+        return listing.get().symbols().length;
+    }
+
+    public boolean contains(String symbol) {
+        if (symbol == null) {
+            return false;
+        }
+        return Arrays.binarySearch(listing.get().symbols(), symbol.toUpperCase(Locale.ROOT)) >= 0;
+    }
+
+    public List<SymbolDTO> findByPrefix(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        String key = prefix.trim().toUpperCase(Locale.ROOT);
+        Listing current = listing.get();
+        List<SymbolDTO> matches = new ArrayList<>();
+        for (int i = current.lowerBound(key); i < current.symbols().length && matches.size() < limit; i++) {
+            if (!current.symbols()[i].startsWith(key)) {
+                break;
+            }
+            matches.add(new SymbolDTO(current.symbols()[i], current.names()[i], current.exchanges()[i]));
+        }
+        return matches;
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column).trim() : null;
+    }
+
+    // Splits one CSV line, honouring double-quoted fields that contain commas
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
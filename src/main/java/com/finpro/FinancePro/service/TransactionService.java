@@ -1,22 +1,48 @@
 package com.finpro.FinancePro.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finpro.FinancePro.dto.Request.CreateTransactionBatchDTO;
 import com.finpro.FinancePro.dto.Request.CreateTransactionDTO;
+import com.finpro.FinancePro.dto.Request.TransactionBatchItemDTO;
 import com.finpro.FinancePro.dto.Request.UpdateTransactionDTO;
+import com.finpro.FinancePro.dto.Response.TransactionBatchResponseDTO;
+import com.finpro.FinancePro.dto.Response.TransactionPageDTO;
 import com.finpro.FinancePro.dto.Response.TransactionResponseDTO;
-import com.finpro.FinancePro.entity.Budget;
 import com.finpro.FinancePro.entity.Transaction;
 import com.finpro.FinancePro.entity.User;
+import com.finpro.FinancePro.event.TransactionChangedEvent;
+import com.finpro.FinancePro.exception.InvalidRequestException;
 import com.finpro.FinancePro.exception.ResourceNotFoundException;
 import com.finpro.FinancePro.repository.BudgetRepository;
 import com.finpro.FinancePro.repository.TransactionRepository;
 import com.finpro.FinancePro.repository.UserRepository;
+import com.finpro.FinancePro.util.TransactionCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TransactionService {
@@ -30,10 +56,47 @@ public class TransactionService {
     @Autowired
     private BudgetRepository budgetRepository;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BudgetWriteBehindBuffer budgetWriteBehindBuffer;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String BATCH_INSERT_SQL =
+            "INSERT INTO transaction (user_id, category, amount, type, description, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
     // Calculate the Sum of all INCOME Transactions
     public double calculateIncomeSum(Long userId) {
-        List<Transaction> incomeTransactions = transactionRepository.findByUserIdAndType(userId, "INCOME");
-        return incomeTransactions.stream().mapToDouble(Transaction::getAmount).sum();
+        return transactionRepository.sumAmountByUserIdAndType(userId, "INCOME");
+    }
+
+    // Sum of amounts per type (INCOME/EXPENSE) for a user, computed in one query
+    public Map<String, Double> calculateTotalsByType(Long userId) {
+        return toTotalsMap(transactionRepository.sumAmountGroupedByType(userId));
+    }
+
+    // Same as above, restricted to transactions created within the date range
+    public Map<String, Double> calculateTotalsByType(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
+        return toTotalsMap(transactionRepository.sumAmountGroupedByTypeBetween(userId, startDate, endDate));
+    }
+
+    private Map<String, Double> toTotalsMap(List<TransactionRepository.TypeTotal> typeTotals) {
+        Map<String, Double> totals = new HashMap<>();
+        for (TransactionRepository.TypeTotal typeTotal : typeTotals) {
+            totals.put(typeTotal.getType(), typeTotal.getTotal() != null ? typeTotal.getTotal() : 0.0);
+        }
+        return totals;
     }
 
     // Get all transactions for a user
@@ -63,6 +126,111 @@ public class TransactionService {
         return transactions.stream().map(this::convertToResponseDTO).collect(Collectors.toList());
     }
 
+    // Get one page of a user's transactions, newest first, using a keyset cursor
+    public TransactionPageDTO getTransactionsPage(Long userId, String cursor, int size, String type, String category,
+                                                  Double minAmount, Double maxAmount,
+                                                  LocalDateTime startDate, LocalDateTime endDate) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        String normalizedType = type != null ? type.toUpperCase() : null;
+
+        // Fetch one extra row to know whether another page exists
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<Transaction> transactions;
+        if (cursor == null || cursor.isBlank()) {
+            transactions = transactionRepository.findPageByUserId(userId, normalizedType, category,
+                    minAmount, maxAmount, startDate, endDate, limit);
+        } else {
+            TransactionCursor after = TransactionCursor.decode(cursor);
+            transactions = transactionRepository.findPageByUserIdAfter(userId, normalizedType, category,
+                    minAmount, maxAmount, startDate, endDate, after.getCreatedAt(), after.getId(), limit);
+        }
+
+        boolean hasMore = transactions.size() > pageSize;
+        List<Transaction> page = hasMore ? transactions.subList(0, pageSize) : transactions;
+
+        TransactionPageDTO pageDTO = new TransactionPageDTO();
+        pageDTO.setTransactions(page.stream().map(this::convertToResponseDTO).collect(Collectors.toList()));
+        pageDTO.setHasMore(hasMore);
+        pageDTO.setSize(page.size());
+        if (hasMore) {
+            Transaction last = page.get(page.size() - 1);
+            pageDTO.setNextCursor(new TransactionCursor(last.getCreatedAt(), last.getId()).encode());
+        }
+        return pageDTO;
+    }
+
+    // Stream every transaction of a user to the output as CSV or NDJSON.
+    // Rows are pulled from a database cursor and written one at a time, so memory use does not grow
+    // with the number of transactions; a slow client simply blocks the writes.
+    @Transactional(readOnly = true)
+    public void exportTransactions(Long userId, String format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try (Stream<TransactionRepository.ExportRow> rows = transactionRepository.streamExportRowsByUserId(userId)) {
+            if ("ndjson".equals(format)) {
+                writeNdjson(rows, writer);
+            } else {
+                writeCsv(rows, writer);
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeCsv(Stream<TransactionRepository.ExportRow> rows, Writer writer) throws IOException {
+        writer.write("id,createdAt,type,category,amount,description\n");
+        Iterator<TransactionRepository.ExportRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            TransactionRepository.ExportRow row = iterator.next();
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writer.write(row.getCreatedAt() != null ? row.getCreatedAt().toString() : "");
+            writer.write(',');
+            writer.write(escapeCsv(row.getType()));
+            writer.write(',');
+            writer.write(escapeCsv(row.getCategory()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getAmount()));
+            writer.write(',');
+            writer.write(escapeCsv(row.getDescription()));
+            writer.write('\n');
+        }
+    }
+
+    private void writeNdjson(Stream<TransactionRepository.ExportRow> rows, Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+
+        Iterator<TransactionRepository.ExportRow> iterator = rows.iterator();
+        boolean wroteRow = false;
+        while (iterator.hasNext()) {
+            TransactionRepository.ExportRow row = iterator.next();
+            wroteRow = true;
+            generator.writeStartObject();
+            generator.writeNumberField("id", row.getId());
+            generator.writeStringField("createdAt", row.getCreatedAt() != null ? row.getCreatedAt().toString() : null);
+            generator.writeStringField("type", row.getType());
+            generator.writeStringField("category", row.getCategory());
+            generator.writeNumberField("amount", row.getAmount());
+            generator.writeStringField("description", row.getDescription());
+            generator.writeEndObject();
+        }
+        // An empty export is an empty body, not a blank line
+        if (wroteRow) {
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    private String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
     //Get transaction by id
     public TransactionResponseDTO getTransaction(Long id) {
         Transaction transaction = transactionRepository.findById(id)
@@ -71,6 +239,7 @@ public class TransactionService {
     }
 
 
+    @Transactional
     public TransactionResponseDTO createTransaction(CreateTransactionDTO createDTO) {
         // Fetch the user
         User user = userRepository.findById(createDTO.getUserId())
@@ -89,39 +258,139 @@ public class TransactionService {
         Transaction savedTransaction = transactionRepository.save(transaction);
 
         //Changes for storing spent amount
-        // Update the spent amount in the budget if the transaction is an expense
-        if ("EXPENSE".equalsIgnoreCase(createDTO.getType())) {
-            Budget budget = budgetRepository.findByUserId(user.getId())
-                    .orElseThrow(() -> new ResourceNotFoundException("No budget found for user ID: " + user.getId()));
-
-            // Increment the spent amount
-            budget.setSpentAmount(budget.getSpentAmount() + createDTO.getAmount());
-            budgetRepository.save(budget);
+        // Increment the spent amount in the budget atomically if the transaction is an expense
+        if ("EXPENSE".equalsIgnoreCase(createDTO.getType()) && !applyExpenseDelta(user.getId(), createDTO.getAmount())) {
+            throw new ResourceNotFoundException("No budget found for user ID: " + user.getId());
         }
 
+        eventPublisher.publishEvent(new TransactionChangedEvent(user.getId(),
+                incomeAmount(createDTO.getType(), createDTO.getAmount()),
+                expenseAmount(createDTO.getType(), createDTO.getAmount())));
+
         return convertToResponseDTO(savedTransaction);
     }
 
 
+    // Insert many transactions for one user in a single database transaction.
+    // The user is checked once, rows go out as JDBC batches, and the budget gets one UPDATE for the whole batch.
+    @Transactional
+    public TransactionBatchResponseDTO createTransactionsBatch(CreateTransactionBatchDTO batchDTO) {
+        Long userId = batchDTO.getUserId();
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with ID: " + userId);
+        }
+
+        List<TransactionBatchItemDTO> items = batchDTO.getTransactions();
+        double incomeTotal = 0;
+        double expenseTotal = 0;
+        for (TransactionBatchItemDTO item : items) {
+            // Stored upper-case, the form the aggregate queries match on
+            String type = item.getType() == null ? null : item.getType().trim().toUpperCase(Locale.ROOT);
+            if ("EXPENSE".equals(type)) {
+                expenseTotal += item.getAmount();
+            } else if ("INCOME".equals(type)) {
+                incomeTotal += item.getAmount();
+            } else {
+                throw new InvalidRequestException("Transaction type must be INCOME or EXPENSE, got: " + item.getType());
+            }
+            item.setType(type);
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(BATCH_INSERT_SQL, items, BATCH_SIZE, (ps, item) -> {
+            ps.setLong(1, userId);
+            ps.setString(2, item.getCategory());
+            ps.setDouble(3, item.getAmount());
+            ps.setString(4, item.getType());
+            ps.setString(5, item.getDescription());
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+
+        // Apply the whole expense delta to the budget at once
+        if (expenseTotal != 0 && !applyExpenseDelta(userId, expenseTotal)) {
+            throw new ResourceNotFoundException("No budget found for user ID: " + userId);
+        }
+
+        eventPublisher.publishEvent(new TransactionChangedEvent(userId, incomeTotal, expenseTotal));
+
+        TransactionBatchResponseDTO responseDTO = new TransactionBatchResponseDTO();
+        responseDTO.setUserId(userId);
+        responseDTO.setInsertedCount(items.size());
+        responseDTO.setIncomeTotal(incomeTotal);
+        responseDTO.setExpenseTotal(expenseTotal);
+        return responseDTO;
+    }
+
     // Update an existing transaction
+    @Transactional
     public TransactionResponseDTO updateTransaction(Long id, UpdateTransactionDTO updateTransactionDTO) {
         Transaction transaction = transactionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with ID: " + id));
+
+        // Remember the old contributions so the budget and goal can be adjusted by the difference
+        double previousIncome = incomeAmount(transaction.getType(), transaction.getAmount());
+        double previousExpense = expenseAmount(transaction.getType(), transaction.getAmount());
+
         transaction.setCategory(updateTransactionDTO.getCategory());
         transaction.setAmount(updateTransactionDTO.getAmount());
         transaction.setType(updateTransactionDTO.getType());
         transaction.setDescription(updateTransactionDTO.getDescription());
         Transaction updatedTransaction = transactionRepository.save(transaction);
+
+        Long userId = updatedTransaction.getUser().getId();
+        double incomeDelta = incomeAmount(updatedTransaction.getType(), updatedTransaction.getAmount()) - previousIncome;
+        double expenseDelta = expenseAmount(updatedTransaction.getType(), updatedTransaction.getAmount()) - previousExpense;
+        if (expenseDelta != 0) {
+            applyExpenseDelta(userId, expenseDelta);
+        }
+        if (incomeDelta != 0 || expenseDelta != 0) {
+            eventPublisher.publishEvent(new TransactionChangedEvent(userId, incomeDelta, expenseDelta));
+        }
         return convertToResponseDTO(updatedTransaction);
     }
 
     // Delete a transaction
+    @Transactional
     public void deleteTransaction(Long id) {
-        if (!transactionRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Transaction not found with ID: " + id);
+        Transaction transaction = transactionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with ID: " + id));
+
+        Long userId = transaction.getUser().getId();
+        double income = incomeAmount(transaction.getType(), transaction.getAmount());
+        double expense = expenseAmount(transaction.getType(), transaction.getAmount());
+
+        transactionRepository.delete(transaction);
+
+        // Take a deleted expense back out of the budget
+        if (expense != 0) {
+            applyExpenseDelta(userId, -expense);
+        }
+        if (income != 0 || expense != 0) {
+            eventPublisher.publishEvent(new TransactionChangedEvent(userId, -income, -expense));
+        }
+    }
+
+    // Apply an expense delta to the user's budget, either with one atomic UPDATE or through the
+    // write-behind buffer. Returns false when updating directly and the user has no budget;
+    // in write-behind mode a missing budget is only detected (and logged) at flush time.
+    private boolean applyExpenseDelta(Long userId, double delta) {
+        // Falls through to the row UPDATE while write-behind flushes are failing, so that backlog stays bounded
+        if (budgetWriteBehindBuffer.acceptsWrites()) {
+            budgetWriteBehindBuffer.addAfterCommit(userId, delta);
+            return true;
         }
+        return budgetRepository.incrementSpentAmount(userId, delta, LocalDateTime.now()) > 0;
+    }
+
+    // Amount a transaction contributes to the budget's spent amount
+    private double expenseAmount(String type, double amount) {
+        return "EXPENSE".equalsIgnoreCase(type) ? amount : 0;
+    }
 
-        transactionRepository.deleteById(id);
+    // Amount a transaction contributes to the income total
+    private double incomeAmount(String type, double amount) {
+        return "INCOME".equalsIgnoreCase(type) ? amount : 0;
     }
 
 
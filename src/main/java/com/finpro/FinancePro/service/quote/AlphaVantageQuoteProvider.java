@@ -0,0 +1,116 @@
+package com.finpro.FinancePro.service.quote;
+
+import com.finpro.FinancePro.dto.Response.StockQuoteDTO;
+import com.finpro.FinancePro.exception.QuoteThrottledException;
+import com.finpro.FinancePro.exception.ResourceNotFoundException;
+import com.finpro.FinancePro.exception.StockApiException;
+import com.finpro.FinancePro.util.AlphaVantageApiUtil;
+import com.finpro.FinancePro.util.AlphaVantageResponseParser;
+import com.finpro.FinancePro.util.AlphaVantageResponseParser.Bar;
+import com.finpro.FinancePro.util.AlphaVantageResponseParser.ParsedResponse;
+import com.finpro.FinancePro.util.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Instant;
+
+@Component
+public class AlphaVantageQuoteProvider implements QuoteProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlphaVantageQuoteProvider.class);
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private AlphaVantageApiUtil alphaVantageApiUtil;
+
+    @Autowired
+    private AlphaVantageResponseParser responseParser;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Override
+    public String getName() {
+        return "alphavantage";
+    }
+
+    @Override
+    public boolean isRemote() {
+        return true;
+    }
+
+    @Override
+    public StockQuoteDTO fetchQuote(String symbol) {
+        String url = alphaVantageApiUtil.buildStockQuoteUrl(symbol);
+        logger.debug("Fetching stock quote for symbol: {} from URL: {}", symbol, url);
+
+        ParsedResponse response = restTemplate.execute(url, HttpMethod.GET, null,
+                httpResponse -> responseParser.parse(httpResponse.getBody()));
+
+        // Validate response
+        if (response == null) {
+            throw new StockApiException("Empty response from Alpha Vantage");
+        }
+
+        if (response.getErrorMessage() != null) {
+            throw new ResourceNotFoundException("Stock data not found for symbol: " + symbol);
+        }
+
+        // Quota responses carry no data; make the limiter agree with the API before failing
+        if (response.getNote() != null) {
+            logger.warn("API rate limit warning: {}", response.getNote());
+            rateLimiter.markMinuteExhausted();
+            throw new QuoteThrottledException("Alpha Vantage rate limit reached");
+        }
+
+        if (response.getInformation() != null) {
+            logger.warn("API information notice: {}", response.getInformation());
+            switch (response.getInformationKind()) {
+                case DAILY_LIMIT -> {
+                    rateLimiter.markDailyExhausted();
+                    throw new QuoteThrottledException("Alpha Vantage daily quota reached");
+                }
+                case BURST_LIMIT -> {
+                    rateLimiter.markMinuteExhausted();
+                    throw new QuoteThrottledException("Alpha Vantage rate limit reached");
+                }
+                // Premium endpoint or key problems are not quota; let the circuit breaker count them
+                default -> throw new StockApiException("Alpha Vantage rejected the request: " + response.getInformation());
+            }
+        }
+
+        Bar latest = response.getBar();
+        if (latest == null) {
+            // An empty series is a gap in the feed, not proof the symbol is unknown
+            throw new StockApiException("No recent data available for symbol: " + symbol);
+        }
+
+        // Create and populate StockQuoteDTO
+        StockQuoteDTO quote = new StockQuoteDTO();
+        quote.setSymbol(symbol);
+        quote.setAsOf(Instant.now());
+        quote.setCurrentPrice(latest.close());
+        quote.setHigh(latest.high());
+        quote.setLow(latest.low());
+        quote.setVolume(latest.volume());
+
+        // Change against the previous close when the API gives one, otherwise against the bar's open
+        double reference = latest.previousClose() != null ? latest.previousClose() : latest.open();
+        double change = latest.close() - reference;
+        double changePercent = (change / reference) * 100;
+
+        quote.setChange(roundToTwoDecimals(change));
+        quote.setChangePercent(roundToTwoDecimals(changePercent));
+        return quote;
+    }
+
+    private double roundToTwoDecimals(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,35 @@
+package com.finpro.FinancePro.service.quote;
+
+import com.finpro.FinancePro.dto.Response.StockQuoteDTO;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+// Constant quote for local development (stock.quote.provider=mock, or the older stock.quote.use.mock=true)
+@Component
+public class MockQuoteProvider implements QuoteProvider {
+
+    @Override
+    public String getName() {
+        return "mock";
+    }
+
+    @Override
+    public boolean isRemote() {
+        return false;
+    }
+
+    @Override
+    public StockQuoteDTO fetchQuote(String symbol) {
+        StockQuoteDTO quote = new StockQuoteDTO();
+        quote.setSymbol(symbol);
+        quote.setCurrentPrice(100.00);
+        quote.setChange(2.50);
+        quote.setChangePercent(2.50);
+        quote.setHigh(102.00);
+        quote.setLow(98.00);
+        quote.setVolume(1000000L);
+        quote.setAsOf(Instant.now());
+        return quote;
+    }
+}
@@ -0,0 +1,16 @@
+package com.finpro.FinancePro.service.quote;
+
+import com.finpro.FinancePro.dto.Response.StockQuoteDTO;
+
+// Source of stock quotes behind InvestmentService's cache. Implementations throw
+// ResourceNotFoundException for unknown symbols, QuoteThrottledException when a quota refuses the
+// request, and StockApiException (or any other runtime exception) when the provider itself fails.
+public interface QuoteProvider {
+
+    String getName();
+
+    // Remote providers cost API quota and are guarded by the rate limiter, circuit breaker and bulkhead
+    boolean isRemote();
+
+    StockQuoteDTO fetchQuote(String symbol);
+}
@@ -0,0 +1,15 @@
+package com.finpro.FinancePro.service.quote;
+
+import com.finpro.FinancePro.dto.Response.StockQuoteDTO;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+// One captured quote and how long the upstream took to return it, stored as <dir>/<SYMBOL>.json
+public record QuoteRecording(StockQuoteDTO quote, long latencyMs) {
+
+    static Path fileFor(Path directory, String symbol) {
+        String safeName = symbol.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9._-]", "_");
+        return directory.resolve(safeName + ".json");
+    }
+}
@@ -0,0 +1,59 @@
+package com.finpro.FinancePro.service.quote;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finpro.FinancePro.dto.Response.StockQuoteDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Passes requests through to Alpha Vantage and captures each successful quote, with its latency,
+// under stock.quote.recording.dir for later use by ReplayQuoteProvider
+@Component
+public class RecordingQuoteProvider implements QuoteProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordingQuoteProvider.class);
+
+    @Autowired
+    private AlphaVantageQuoteProvider delegate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${stock.quote.recording.dir:quote-recordings}")
+    private String recordingDir;
+
+    @Override
+    public String getName() {
+        return "record";
+    }
+
+    @Override
+    public boolean isRemote() {
+        return true;
+    }
+
+    @Override
+    public StockQuoteDTO fetchQuote(String symbol) {
+        long start = System.nanoTime();
+        StockQuoteDTO quote = delegate.fetchQuote(symbol);
+        long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // A failed write must not fail the quote request
+        try {
+            Path directory = Path.of(recordingDir);
+            Files.createDirectories(directory);
+            objectMapper.writeValue(QuoteRecording.fileFor(directory, symbol).toFile(),
+                    new QuoteRecording(quote, latencyMs));
+        } catch (IOException e) {
+            logger.warn("Could not record quote for {}: {}", symbol, e.getMessage());
+        }
+        return quote;
+    }
+}
@@ -0,0 +1,128 @@
+package com.finpro.FinancePro.service.quote;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finpro.FinancePro.dto.Response.StockQuoteDTO;
+import com.finpro.FinancePro.exception.ResourceNotFoundException;
+import com.finpro.FinancePro.exception.StockApiException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Serves quotes captured by RecordingQuoteProvider, for load tests that need realistic upstream behaviour
+// without network access or API quota. Latency is the recorded one unless stock.quote.replay.latency-ms
+// overrides it, plus up to jitter-ms; error-rate injects provider failures. Unrecorded symbols are not found.
+// With stock.quote.replay.guarded the provider reports itself as remote, so replayed load goes through the
+// rate limiter, circuit breaker, bulkhead and fetch lease exactly as Alpha Vantage traffic would.
+@Component
+public class ReplayQuoteProvider implements QuoteProvider {
+
+    private final ObjectMapper objectMapper;
+    private final Path recordingDir;
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double errorRate;
+    private final boolean guarded;
+
+    // Only found recordings are kept, so a capture written while the replay runs is picked up
+    private final Map<String, QuoteRecording> recordings = new ConcurrentHashMap<>();
+
+    public ReplayQuoteProvider(ObjectMapper objectMapper,
+                               @Value("${stock.quote.recording.dir:quote-recordings}") String recordingDir,
+                               @Value("${stock.quote.replay.latency-ms:-1}") long latencyMs,
+                               @Value("${stock.quote.replay.jitter-ms:0}") long jitterMs,
+                               @Value("${stock.quote.replay.error-rate:0.0}") double errorRate,
+                               @Value("${stock.quote.replay.guarded:false}") boolean guarded) {
+        this.objectMapper = objectMapper;
+        this.recordingDir = Path.of(recordingDir);
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.errorRate = errorRate;
+        this.guarded = guarded;
+    }
+
+    @Override
+    public String getName() {
+        return "replay";
+    }
+
+    @Override
+    public boolean isRemote() {
+        return guarded;
+    }
+
+    @Override
+    public StockQuoteDTO fetchQuote(String symbol) {
+        Optional<QuoteRecording> recording = recording(symbol);
+
+        long delayMs = latencyMs >= 0 ? latencyMs : recording.map(QuoteRecording::latencyMs).orElse(0L);
+        if (jitterMs > 0) {
+            delayMs += ThreadLocalRandom.current().nextLong(jitterMs + 1);
+        }
+        sleep(delayMs);
+
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            throw new StockApiException("Injected replay failure for symbol: " + symbol);
+        }
+
+        QuoteRecording found = recording
+                .orElseThrow(() -> new ResourceNotFoundException("Stock data not found for symbol: " + symbol));
+        return replayed(found.quote(), symbol);
+    }
+
+    private Optional<QuoteRecording> recording(String symbol) {
+        QuoteRecording recording = recordings.get(symbol);
+        if (recording == null) {
+            Optional<QuoteRecording> loaded = load(symbol);
+            loaded.ifPresent(found -> recordings.putIfAbsent(symbol, found));
+            return loaded;
+        }
+        return Optional.of(recording);
+    }
+
+    private Optional<QuoteRecording> load(String symbol) {
+        Path file = QuoteRecording.fileFor(recordingDir, symbol);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(file.toFile(), QuoteRecording.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable quote recording " + file, e);
+        }
+    }
+
+    // A fresh copy each time, stamped as fetched now, so cached entries age as they would in production
+    private StockQuoteDTO replayed(StockQuoteDTO recorded, String symbol) {
+        StockQuoteDTO quote = new StockQuoteDTO();
+        quote.setSymbol(symbol);
+        quote.setCurrentPrice(recorded.getCurrentPrice());
+        quote.setChange(recorded.getChange());
+        quote.setChangePercent(recorded.getChangePercent());
+        quote.setHigh(recorded.getHigh());
+        quote.setLow(recorded.getLow());
+        quote.setVolume(recorded.getVolume());
+        quote.setAsOf(Instant.now());
+        return quote;
+    }
+
+    private void sleep(long delayMs) {
+        if (delayMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StockApiException("Interrupted while replaying quote");
+        }
+    }
+}
@@ -13,12 +13,18 @@ public class AlphaVantageApiUtil {
     @Value("${alphavantage.api.base-url:https://www.alphavantage.co/query}")
     private String baseUrl;
 
+    // TIME_SERIES_INTRADAY or the much smaller GLOBAL_QUOTE
+    @Value("${alphavantage.api.function:TIME_SERIES_INTRADAY}")
+    private String function;
+
     public String buildStockQuoteUrl(String symbol) {
-        return UriComponentsBuilder.fromHttpUrl(baseUrl)
-                .queryParam("function", "TIME_SERIES_INTRADAY")
-                .queryParam("symbol", symbol)
-                .queryParam("interval", "5min")
-                .queryParam("apikey", apiKey)
+        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(baseUrl)
+                .queryParam("function", function)
+                .queryParam("symbol", symbol);
+        if ("TIME_SERIES_INTRADAY".equals(function)) {
+            builder.queryParam("interval", "5min");
+        }
+        return builder.queryParam("apikey", apiKey)
                 .build()
                 .toUriString();
     }
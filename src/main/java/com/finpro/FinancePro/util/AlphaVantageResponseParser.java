@@ -0,0 +1,186 @@
+package com.finpro.FinancePro.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+// Streaming reader for Alpha Vantage quote responses. Only the newest bar is materialized: older bars in
+// the time series are skipped token by token, and parsing stops as soon as the bar named by the
+// "3. Last Refreshed" metadata has been read. The newest bar is chosen by comparing timestamps, not by
+// relying on the order of keys in the payload.
+@Component
+public class AlphaVantageResponseParser {
+
+    private final JsonFactory jsonFactory;
+
+    public AlphaVantageResponseParser(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    // previousClose is only present in GLOBAL_QUOTE responses
+    public record Bar(String timestamp, double open, double high, double low, double close, long volume,
+                      Double previousClose) {
+    }
+
+    // What an "Information" message is about; Alpha Vantage uses the same field for quota and other notices
+    public enum InformationKind {
+        DAILY_LIMIT,  // the key's requests for the day are used up
+        BURST_LIMIT,  // requests sent too close together
+        OTHER         // premium-only endpoint, invalid or demo key, and anything unrecognized
+    }
+
+    public static class ParsedResponse {
+        private Bar bar;
+        private String errorMessage;
+        private String note;
+        private String information;
+
+        public Bar getBar() {
+            return bar;
+        }
+
+        public String getErrorMessage() {
+            return errorMessage;
+        }
+
+        public String getNote() {
+            return note;
+        }
+
+        public String getInformation() {
+            return information;
+        }
+
+        public InformationKind getInformationKind() {
+            return classifyInformation(information);
+        }
+    }
+
+    // Matched on the wording of the notices; the daily notice also mentions premium plans, so it is checked first
+    public static InformationKind classifyInformation(String information) {
+        if (information == null) {
+            return null;
+        }
+        String text = information.toLowerCase(Locale.ROOT);
+        if (text.contains("per day") || text.contains("daily rate limit") || text.contains("daily limit")) {
+            return InformationKind.DAILY_LIMIT;
+        }
+        if (text.contains("per second") || text.contains("per minute") || text.contains("spreading out")) {
+            return InformationKind.BURST_LIMIT;
+        }
+        return InformationKind.OTHER;
+    }
+
+    // Handles both TIME_SERIES_INTRADAY and GLOBAL_QUOTE payloads
+    public ParsedResponse parse(InputStream body) throws IOException {
+        ParsedResponse result = new ParsedResponse();
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object from Alpha Vantage");
+            }
+
+            String lastRefreshed = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "Meta Data" -> lastRefreshed = readLastRefreshed(parser);
+                    case "Global Quote" -> result.bar = readGlobalQuote(parser);
+                    case "Error Message" -> result.errorMessage = parser.getText();
+                    case "Note" -> result.note = parser.getText();
+                    case "Information" -> result.information = parser.getText();
+                    default -> {
+                        if (field.startsWith("Time Series")) {
+                            result.bar = readLatestBar(parser, lastRefreshed);
+                            return result; // nothing after the series is needed
+                        }
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private String readLastRefreshed(JsonParser parser) throws IOException {
+        String lastRefreshed = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("3. Last Refreshed".equals(field)) {
+                lastRefreshed = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return lastRefreshed;
+    }
+
+    // Timestamps are "yyyy-MM-dd HH:mm:ss", so string order is time order
+    private Bar readLatestBar(JsonParser parser, String lastRefreshed) throws IOException {
+        Bar latest = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String timestamp = parser.currentName();
+            parser.nextToken();
+            if (latest == null || timestamp.compareTo(latest.timestamp()) > 0) {
+                latest = readIntradayBar(parser, timestamp);
+                if (timestamp.equals(lastRefreshed)) {
+                    return latest; // the metadata says nothing newer exists
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return latest;
+    }
+
+    private Bar readIntradayBar(JsonParser parser, String timestamp) throws IOException {
+        double open = 0, high = 0, low = 0, close = 0;
+        long volume = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "1. open" -> open = Double.parseDouble(parser.getText());
+                case "2. high" -> high = Double.parseDouble(parser.getText());
+                case "3. low" -> low = Double.parseDouble(parser.getText());
+                case "4. close" -> close = Double.parseDouble(parser.getText());
+                case "5. volume" -> volume = Long.parseLong(parser.getText());
+                default -> parser.skipChildren();
+            }
+        }
+        return new Bar(timestamp, open, high, low, close, volume, null);
+    }
+
+    // An unknown symbol comes back as an empty "Global Quote" object
+    private Bar readGlobalQuote(JsonParser parser) throws IOException {
+        String timestamp = null;
+        Double open = null, high = null, low = null, price = null, previousClose = null;
+        long volume = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "02. open" -> open = Double.parseDouble(parser.getText());
+                case "03. high" -> high = Double.parseDouble(parser.getText());
+                case "04. low" -> low = Double.parseDouble(parser.getText());
+                case "05. price" -> price = Double.parseDouble(parser.getText());
+                case "06. volume" -> volume = Long.parseLong(parser.getText());
+                case "07. latest trading day" -> timestamp = parser.getText();
+                case "08. previous close" -> previousClose = Double.parseDouble(parser.getText());
+                default -> parser.skipChildren();
+            }
+        }
+        if (price == null || open == null) {
+            return null;
+        }
+        return new Bar(timestamp, open, high != null ? high : price, low != null ? low : price, price, volume,
+                previousClose);
+    }
+}
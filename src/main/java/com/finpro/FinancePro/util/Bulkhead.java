@@ -0,0 +1,47 @@
+package com.finpro.FinancePro.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Caps the number of concurrent calls to an upstream so a slow dependency cannot tie up every request thread
+public class Bulkhead {
+
+    private final Semaphore permits;
+    private final long maxWaitMs;
+    private final Counter rejections;
+
+    public Bulkhead(String name, int maxConcurrentCalls, long maxWaitMs, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+        this.maxWaitMs = maxWaitMs;
+
+        Gauge.builder("bulkhead.available", permits, Semaphore::availablePermits)
+                .description("Free concurrent call slots")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.rejections = Counter.builder("bulkhead.rejections")
+                .description("Calls rejected because every slot was busy")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    // Must be paired with release() when it returns true
+    public boolean tryAcquire() {
+        try {
+            if (permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejections.increment();
+        return false;
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
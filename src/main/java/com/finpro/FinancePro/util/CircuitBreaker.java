@@ -0,0 +1,146 @@
+package com.finpro.FinancePro.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+// Consecutive-failure circuit breaker for an upstream dependency. A call that fails or takes longer than
+// slowCallMs counts as a failure; failureThreshold of them in a row opens the circuit. While open, calls
+// are rejected without touching the upstream. After openDurationMs a limited number of probe calls are
+// let through (half-open): a healthy probe closes the circuit, a failed one opens it again.
+public class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    // Handed out by tryAcquirePermission and passed back with the outcome. A call let through while closed
+    // can finish after the circuit has opened and gone half-open; only the probes of the current half-open
+    // round may release a probe slot or decide the next state.
+    public record Permit(boolean probe, long halfOpenRound) {
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long slowCallNanos;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+    private final Counter rejections;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private int probesInFlight;
+    private long halfOpenRound;
+
+    public CircuitBreaker(String name, int failureThreshold, long slowCallMs, long openDurationMs,
+                          int halfOpenProbes, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMs);
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMs);
+        this.halfOpenProbes = halfOpenProbes;
+
+        Gauge.builder("circuit.breaker.state", this, breaker -> breaker.getState().ordinal())
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.rejections = Counter.builder("circuit.breaker.rejections")
+                .description("Calls rejected because the circuit was open")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    // Rejects (and counts) a call up front without reserving a probe slot, for callers that have to wait
+    // for something else before they can use a permit
+    public synchronized boolean rejectsCalls() {
+        boolean rejecting = state == State.OPEN
+                ? System.nanoTime() - openedAtNanos < openDurationNanos
+                : state == State.HALF_OPEN && probesInFlight >= halfOpenProbes;
+        if (rejecting) {
+            rejections.increment();
+        }
+        return rejecting;
+    }
+
+    // Returns null when the call is rejected. A returned permit must be followed by exactly one of
+    // onSuccess, onFailure or onIgnored.
+    public synchronized Permit tryAcquirePermission() {
+        if (state == State.OPEN && System.nanoTime() - openedAtNanos >= openDurationNanos) {
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.CLOSED) {
+            return new Permit(false, halfOpenRound);
+        }
+        if (state == State.HALF_OPEN && probesInFlight < halfOpenProbes) {
+            probesInFlight++;
+            return new Permit(true, halfOpenRound);
+        }
+        rejections.increment();
+        return null;
+    }
+
+    public synchronized void onSuccess(Permit permit, long durationNanos) {
+        if (durationNanos > slowCallNanos) {
+            onFailure(permit);
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            // A late call from before the circuit opened says nothing about the upstream now
+            if (isCurrentProbe(permit)) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void onFailure(Permit permit) {
+        if (state == State.HALF_OPEN) {
+            if (isCurrentProbe(permit)) {
+                transitionTo(State.OPEN);
+            }
+            return;
+        }
+        consecutiveFailures++;
+        if (state == State.CLOSED && consecutiveFailures >= failureThreshold) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    // The permitted call never reached the upstream (e.g. it was throttled locally)
+    public synchronized void onIgnored(Permit permit) {
+        if (isCurrentProbe(permit)) {
+            probesInFlight--;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    // Caller must hold the lock
+    private boolean isCurrentProbe(Permit permit) {
+        return permit.probe() && state == State.HALF_OPEN && permit.halfOpenRound() == halfOpenRound;
+    }
+
+    // Caller must hold the lock
+    private void transitionTo(State next) {
+        logger.warn("Circuit breaker {} changed from {} to {}", name, state, next);
+        state = next;
+        consecutiveFailures = 0;
+        if (next == State.OPEN) {
+            openedAtNanos = System.nanoTime();
+        }
+        if (next == State.HALF_OPEN) {
+            halfOpenRound++;
+        }
+        probesInFlight = 0;
+    }
+}
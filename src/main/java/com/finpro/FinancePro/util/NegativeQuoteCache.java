@@ -0,0 +1,54 @@
+package com.finpro.FinancePro.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Symbols the provider reported as unknown, with the provider's message. Kept apart from QuoteCache so
+// typos and bad tickers get their own shorter TTL and size cap and never evict real quotes. Only genuine
+// not-found answers go in here; throttling and upstream errors are not cached.
+@Component
+public class NegativeQuoteCache {
+
+    @Value("${alphavantage.cache.negative-ttl:600000}")
+    private long negativeTtl;  // 10 minutes by default
+
+    @Value("${alphavantage.cache.negative-max-size:1000}")
+    private long maxSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, String> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(negativeTtl))
+                .recordStats()
+                .build();
+        // Hits show up as cache.gets{cache=stockQuotesNotFound,result=hit}
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "stockQuotesNotFound");
+    }
+
+    // Returns the provider's not-found message, or null if the symbol is not known to be missing
+    public String get(String symbol) {
+        return cache.getIfPresent(symbol);
+    }
+
+    public void put(String symbol, String message) {
+        cache.put(symbol, message);
+    }
+
+    public void invalidate(String symbol) {
+        cache.invalidate(symbol);
+    }
+}
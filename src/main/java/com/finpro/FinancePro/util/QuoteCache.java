@@ -0,0 +1,145 @@
+package com.finpro.FinancePro.util;
+
+import com.finpro.FinancePro.dto.Response.StockQuoteDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+// Bounded cache of stock quotes. A quote is fresh for alphavantage.cache.duration (soft TTL), stretched
+// to the next market open when it was fetched outside trading hours; after that it is kept for
+// alphavantage.cache.stale-retention more (hard TTL) and served stale while a background refresh runs.
+// Size-bounded with W-TinyLFU eviction so unknown symbols cannot grow it forever.
+@Component
+public class QuoteCache {
+
+    @Value("${alphavantage.cache.duration:300000}")
+    private long cacheDuration;
+
+    @Value("${alphavantage.cache.stale-retention:3600000}")
+    private long staleRetention;
+
+    @Value("${alphavantage.cache.max-size:10000}")
+    private long maxSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TradingCalendar tradingCalendar;
+
+    private Cache<String, CachedQuote> cache;
+
+    public static class CachedQuote {
+        private final StockQuoteDTO quote;
+        private final long timestamp;
+        private final long freshUntil;
+        private final long hardExpiry;
+
+        CachedQuote(StockQuoteDTO quote, long timestamp, long freshUntil, long hardExpiry) {
+            this.quote = quote;
+            this.timestamp = timestamp;
+            this.freshUntil = freshUntil;
+            this.hardExpiry = hardExpiry;
+        }
+
+        public StockQuoteDTO getQuote() {
+            return quote;
+        }
+
+        // When the quote was fetched, which may be before it reached this node
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public long getFreshUntil() {
+            return freshUntil;
+        }
+
+        public boolean isExpired() {
+            return System.currentTimeMillis() > freshUntil;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new HardExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "stockQuotes");
+    }
+
+    // Returns the entry even if it is past cacheDuration; callers decide whether stale is acceptable
+    public CachedQuote get(String symbol) {
+        return cache.getIfPresent(symbol);
+    }
+
+    public CachedQuote put(String symbol, StockQuoteDTO quote) {
+        long timestamp = quote.getAsOf() != null ? quote.getAsOf().toEpochMilli() : System.currentTimeMillis();
+        long freshUntil = freshUntil(timestamp);
+        CachedQuote entry = new CachedQuote(quote, timestamp, freshUntil, freshUntil + staleRetention);
+        cache.put(symbol, entry);
+        return entry;
+    }
+
+    public void invalidate(String symbol) {
+        cache.invalidate(symbol);
+    }
+
+    public long getHardTtlMs() {
+        return cacheDuration + staleRetention;
+    }
+
+    // End of the soft TTL for a quote fetched at the given time
+    public long freshUntil(long fetchedAtMs) {
+        return tradingCalendar.freshUntil(fetchedAtMs, cacheDuration);
+    }
+
+    // Whether a quote fetched at the given time is still within its hard TTL
+    public boolean isUsable(long fetchedAtMs) {
+        return System.currentTimeMillis() < freshUntil(fetchedAtMs) + staleRetention;
+    }
+
+    // Fetch time of the oldest quote that can still be within its hard TTL
+    public Instant oldestUsableFetchTime() {
+        return tradingCalendar.lastSessionEnd(Instant.now()).minusMillis(getHardTtlMs());
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    // Each entry lives until its own hard expiry; reads don't extend it
+    private static class HardExpiry implements Expiry<String, CachedQuote> {
+
+        @Override
+        public long expireAfterCreate(String symbol, CachedQuote entry, long currentTime) {
+            return remainingLifetime(entry);
+        }
+
+        @Override
+        public long expireAfterUpdate(String symbol, CachedQuote entry, long currentTime, long currentDuration) {
+            return remainingLifetime(entry);
+        }
+
+        @Override
+        public long expireAfterRead(String symbol, CachedQuote entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private static long remainingLifetime(CachedQuote entry) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, entry.hardExpiry - System.currentTimeMillis()));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.finpro.FinancePro.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// How often each symbol is looked up, used to pick which quotes to keep warm. Counts are halved every
+// quote.prefetch.decay-interval-ms so the ranking follows what users look at now, and at most
+// quote.prefetch.max-tracked symbols are counted.
+@Component
+public class QuotePopularity {
+
+    @Value("${quote.prefetch.max-tracked:10000}")
+    private int maxTracked;
+
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+    public void record(String symbol) {
+        LongAdder count = counts.get(symbol);
+        if (count == null) {
+            if (counts.size() >= maxTracked) {
+                return;
+            }
+            count = counts.computeIfAbsent(symbol, key -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    // The most looked-up symbols, most popular first
+    public List<String> top(int limit) {
+        return counts.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${quote.prefetch.decay-interval-ms:3600000}",
+            initialDelayString = "${quote.prefetch.decay-interval-ms:3600000}")
+    public void decay() {
+        // Lookups that land while halving are kept in full
+        for (LongAdder count : counts.values()) {
+            long current = count.sum();
+            count.add(-(current - current / 2));
+        }
+        counts.values().removeIf(count -> count.sum() <= 0);
+    }
+}
@@ -1,23 +1,182 @@
 package com.finpro.FinancePro.util;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
+// Key-level limiter for the Alpha Vantage API. Alpha Vantage counts requests per API key, so this
+// models its quota rather than individual symbols: a token bucket refilled one token every
+// alphavantage.api.rate-limit ms (holding at most a minute's worth), plus a daily allowance that resets
+// at midnight UTC. Callers that have to wait are served highest priority first, then in arrival order.
 @Component
 public class RateLimiter {
-    private final Map<String, Long> lastRequestTime = new ConcurrentHashMap<>();
-    private static final long MIN_INTERVAL = 12000; // 12 seconds between requests
 
-    public boolean shouldAllowRequest(String symbol){
-        long currentTime = System.currentTimeMillis();
-        Long lastRequest = lastRequestTime.get(symbol);
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
 
-        if(lastRequest == null || currentTime - lastRequest >= MIN_INTERVAL){
-            lastRequestTime.put(symbol, currentTime);
-            return true;
+    public enum Priority {
+        INTERACTIVE,  // a user is waiting on the response
+        BACKGROUND    // cache refreshes and other work nobody is blocked on
+    }
+
+    private record Waiter(Priority priority, long sequence) {
+    }
+
+    private final long refillIntervalNanos;
+    private final int minuteCapacity;
+    private final int dailyLimit;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition tokenAvailable = lock.newCondition();
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(
+            Comparator.comparing(Waiter::priority).thenComparingLong(Waiter::sequence));
+    private long nextSequence;
+
+    private double minuteTokens;
+    private long lastRefillNanos;
+    private int dailyUsed;
+    private LocalDate currentDay;
+
+    public RateLimiter(@Value("${alphavantage.api.rate-limit:12000}") long rateLimitMs,
+                       @Value("${alphavantage.api.daily-limit:25}") int dailyLimit,
+                       MeterRegistry meterRegistry) {
+        this.refillIntervalNanos = TimeUnit.MILLISECONDS.toNanos(rateLimitMs);
+        this.minuteCapacity = (int) Math.max(1, 60000 / rateLimitMs);
+        this.dailyLimit = dailyLimit;
+        this.minuteTokens = minuteCapacity;
+        this.lastRefillNanos = System.nanoTime();
+        this.currentDay = LocalDate.now(ZoneOffset.UTC);
+
+        Gauge.builder("alphavantage.quota.remaining", this, RateLimiter::getMinuteRemaining)
+                .description("Requests left in the Alpha Vantage quota window")
+                .tag("window", "minute")
+                .register(meterRegistry);
+        Gauge.builder("alphavantage.quota.remaining", this, RateLimiter::getDailyRemaining)
+                .description("Requests left in the Alpha Vantage quota window")
+                .tag("window", "day")
+                .register(meterRegistry);
+        Gauge.builder("alphavantage.quota.waiters", this, RateLimiter::getWaiterCount)
+                .description("Callers queued for an Alpha Vantage request slot")
+                .register(meterRegistry);
+    }
+
+    // Takes one request from the quota, waiting up to maxWaitMs for the minute window to refill.
+    // Returns false straight away when the daily allowance is used up.
+    public boolean tryAcquire(Priority priority, long maxWaitMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        lock.lock();
+        try {
+            Waiter waiter = new Waiter(priority, nextSequence++);
+            waiters.add(waiter);
+            try {
+                while (true) {
+                    refill();
+                    if (dailyUsed >= dailyLimit) {
+                        return false;
+                    }
+                    if (waiters.peek() == waiter && minuteTokens >= 1) {
+                        minuteTokens -= 1;
+                        dailyUsed++;
+                        return true;
+                    }
+
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    // Wait for the next token, or, if one is already there, for the waiter ahead of us to take it
+                    long wait = minuteTokens >= 1
+                            ? remaining
+                            : Math.min(remaining, (long) ((1 - minuteTokens) * refillIntervalNanos));
+                    tokenAvailable.awaitNanos(Math.max(1, wait));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                waiters.remove(waiter);
+                // Let the next waiter in line re-check
+                tokenAvailable.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The API reported the per-minute limit despite our accounting (e.g. the key is shared)
+    public void markMinuteExhausted() {
+        lock.lock();
+        try {
+            refill();
+            minuteTokens = 0;
+            logger.warn("Alpha Vantage reported the per-minute limit; pausing requests for this window");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The API reported the daily limit; no more requests until the next UTC day
+    public void markDailyExhausted() {
+        lock.lock();
+        try {
+            refill();
+            dailyUsed = dailyLimit;
+            logger.warn("Alpha Vantage reported the daily limit; no requests until the next UTC day");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getMinuteRemaining() {
+        lock.lock();
+        try {
+            refill();
+            return Math.floor(minuteTokens);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getDailyRemaining() {
+        lock.lock();
+        try {
+            refill();
+            return Math.max(0, dailyLimit - dailyUsed);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWaiterCount() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller must hold the lock
+    private void refill() {
+        long now = System.nanoTime();
+        double earned = (double) (now - lastRefillNanos) / refillIntervalNanos;
+        minuteTokens = Math.min(minuteCapacity, minuteTokens + earned);
+        lastRefillNanos = now;
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        if (!today.equals(currentDay)) {
+            currentDay = today;
+            dailyUsed = 0;
         }
-        return false;
     }
 }
@@ -0,0 +1,19 @@
+package com.finpro.FinancePro.util;
+
+import java.util.Locale;
+
+// The one spelling of a ticker used for lots, positions and quote lookups, so "aapl", " AAPL" and "AAPL"
+// are the same holding and share one cache entry
+public final class StockSymbols {
+
+    private StockSymbols() {
+    }
+
+    // Trimmed and upper-cased; null or blank symbols (non-stock lots) come back as null
+    public static String normalize(String symbol) {
+        if (symbol == null || symbol.isBlank()) {
+            return null;
+        }
+        return symbol.trim().toUpperCase(Locale.ROOT);
+    }
+}
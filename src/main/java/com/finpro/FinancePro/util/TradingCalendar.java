@@ -0,0 +1,105 @@
+package com.finpro.FinancePro.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Trading sessions of the exchange our quotes come from: weekdays between market.hours.open and
+// market.hours.close in market.hours.zone, except the listed holidays. A session is taken to run
+// close-settle-minutes past the close so the closing bar is picked up. Outside sessions prices cannot
+// change, so a quote fetched then stays fresh until the next open.
+@Component
+public class TradingCalendar {
+
+    // Longest run of closed days we search across (long weekend plus holidays)
+    private static final int MAX_CLOSED_DAYS = 14;
+
+    private final boolean enabled;
+    private final ZoneId zone;
+    private final LocalTime open;
+    private final LocalTime sessionEnd;
+    private final Set<LocalDate> holidays;
+
+    public TradingCalendar(@Value("${market.hours.enabled:true}") boolean enabled,
+                           @Value("${market.hours.zone:America/New_York}") String zone,
+                           @Value("${market.hours.open:09:30}") String open,
+                           @Value("${market.hours.close:16:00}") String close,
+                           @Value("${market.hours.close-settle-minutes:15}") int closeSettleMinutes,
+                           @Value("${market.hours.holidays:}") String holidays) {
+        this.enabled = enabled;
+        this.zone = ZoneId.of(zone);
+        this.open = LocalTime.parse(open);
+        this.sessionEnd = LocalTime.parse(close).plusMinutes(closeSettleMinutes);
+        this.holidays = Arrays.stream(holidays.split(","))
+                .map(String::trim)
+                .filter(date -> !date.isEmpty())
+                .map(LocalDate::parse)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    // With the calendar disabled the market counts as always open, i.e. a flat TTL
+    public boolean isOpen(Instant instant) {
+        if (!enabled) {
+            return true;
+        }
+        ZonedDateTime local = instant.atZone(zone);
+        LocalTime time = local.toLocalTime();
+        return isTradingDay(local.toLocalDate()) && !time.isBefore(open) && time.isBefore(sessionEnd);
+    }
+
+    // The start of the next session, or the instant itself while a session is running
+    public Instant nextOpen(Instant instant) {
+        if (isOpen(instant)) {
+            return instant;
+        }
+        LocalDate day = instant.atZone(zone).toLocalDate();
+        for (int i = 0; i <= MAX_CLOSED_DAYS; i++) {
+            LocalDate candidate = day.plusDays(i);
+            Instant candidateOpen = candidate.atTime(open).atZone(zone).toInstant();
+            if (isTradingDay(candidate) && candidateOpen.isAfter(instant)) {
+                return candidateOpen;
+            }
+        }
+        return instant;
+    }
+
+    // The end of the most recent session, or the instant itself while a session is running
+    public Instant lastSessionEnd(Instant instant) {
+        if (isOpen(instant)) {
+            return instant;
+        }
+        LocalDate day = instant.atZone(zone).toLocalDate();
+        for (int i = 0; i <= MAX_CLOSED_DAYS; i++) {
+            LocalDate candidate = day.minusDays(i);
+            Instant candidateEnd = candidate.atTime(sessionEnd).atZone(zone).toInstant();
+            if (isTradingDay(candidate) && !candidateEnd.isAfter(instant)) {
+                return candidateEnd;
+            }
+        }
+        return instant;
+    }
+
+    // When a quote fetched at fetchedAtMs stops being fresh: ttlMs later during a session, otherwise
+    // not before the next open
+    public long freshUntil(long fetchedAtMs, long ttlMs) {
+        Instant fetchedAt = Instant.ofEpochMilli(fetchedAtMs);
+        if (isOpen(fetchedAt)) {
+            return fetchedAtMs + ttlMs;
+        }
+        return Math.max(fetchedAtMs + ttlMs, nextOpen(fetchedAt).toEpochMilli());
+    }
+
+    private boolean isTradingDay(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY && !holidays.contains(date);
+    }
+}
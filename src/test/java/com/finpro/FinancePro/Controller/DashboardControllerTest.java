@@ -0,0 +1,77 @@
+package com.finpro.FinancePro.Controller;
+
+import com.finpro.FinancePro.dto.Response.DashboardDTO;
+import com.finpro.FinancePro.exception.CustomAccessDeniedException;
+import com.finpro.FinancePro.security.SecurityUtils;
+import com.finpro.FinancePro.service.DashboardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class DashboardControllerTest {
+
+    @Mock
+    private DashboardService dashboardService;
+
+    @InjectMocks
+    private DashboardController dashboardController;
+
+    private DashboardDTO dashboardDTO;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        // Initialize test data
+        dashboardDTO = new DashboardDTO();
+        dashboardDTO.setIncomeTotal(3000.00);
+        dashboardDTO.setExpenseTotal(1200.00);
+        dashboardDTO.setSectionErrors(Map.of("portfolio", "Timed out"));
+    }
+
+    @Test
+    public void testGetCurrentUserDashboard_Success() {
+        // Simulate authenticated user
+        SecurityUtils.setTestUserId(1L);
+
+        // Mock service behavior
+        when(dashboardService.getDashboard(1L)).thenReturn(dashboardDTO);
+
+        // Call the controller method
+        ResponseEntity<DashboardDTO> response = dashboardController.getCurrentUserDashboard();
+
+        // Verify the response
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(3000.00, response.getBody().getIncomeTotal());
+        assertEquals("Timed out", response.getBody().getSectionErrors().get("portfolio"));
+
+        // Verify service interaction
+        verify(dashboardService, times(1)).getDashboard(1L);
+    }
+
+    @Test
+    public void testGetCurrentUserDashboard_Unauthorized() {
+        // Simulate unauthenticated user
+        SecurityUtils.setTestUserId(null);
+
+        // Verify that an exception is thrown
+        CustomAccessDeniedException exception = assertThrows(CustomAccessDeniedException.class, () -> {
+            dashboardController.getCurrentUserDashboard();
+        });
+
+        assertEquals("User must be authenticated", exception.getMessage());
+
+        // Verify no service interaction
+        verify(dashboardService, never()).getDashboard(any());
+    }
+}
@@ -3,6 +3,7 @@ package com.finpro.FinancePro.Controller;
 import com.finpro.FinancePro.dto.Request.CreateGoalDTO;
 import com.finpro.FinancePro.dto.Request.UpdateGoalDTO;
 import com.finpro.FinancePro.dto.Response.GoalProgressDTO;
+import com.finpro.FinancePro.dto.Response.GoalRepairResultDTO;
 import com.finpro.FinancePro.dto.Response.GoalResponseDTO;
 import com.finpro.FinancePro.exception.CustomAccessDeniedException;
 import com.finpro.FinancePro.security.SecurityUtils;
@@ -211,4 +212,28 @@ public class GoalControllerTest {
         // Verify no service interaction
         verify(goalService, never()).calculateGoalProgressByUserId(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testRepairCurrentUserGoal_Success() {
+        // Simulate authenticated user
+        SecurityUtils.setTestUserId(1L);
+
+        GoalRepairResultDTO repairResult = new GoalRepairResultDTO();
+        repairResult.setUserId(1L);
+        repairResult.setStoredAmount(1900.00);
+        repairResult.setRecomputedAmount(2000.00);
+        repairResult.setDrift(100.00);
+        when(goalService.repairGoalProjection(1L)).thenReturn(repairResult);
+
+        // Call the controller method
+        ResponseEntity<GoalRepairResultDTO> response = goalController.repairCurrentUserGoal();
+
+        // Verify the response
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(100.00, response.getBody().getDrift());
+
+        // Verify service interaction
+        verify(goalService, times(1)).repairGoalProjection(1L);
+    }
+}
@@ -4,6 +4,7 @@ import com.finpro.FinancePro.dto.Request.CreateInvestmentDTO;
 import com.finpro.FinancePro.dto.Request.CreateUserDTO;
 import com.finpro.FinancePro.dto.Request.UpdateInvestmentDTO;
 import com.finpro.FinancePro.dto.Response.InvestmentResponseDTO;
+import com.finpro.FinancePro.dto.Response.PortfolioPerformanceDTO;
 import com.finpro.FinancePro.entity.Investment;
 import com.finpro.FinancePro.entity.Provider;
 import com.finpro.FinancePro.entity.User;
@@ -20,7 +21,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.List;
-import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -188,14 +188,13 @@ public class InvestmentControllerTest {
         investmentController.createInvestment(createDTO);
 
         // Get portfolio performance
-        ResponseEntity<Map<String, Double>> response = investmentController.getPortfolioPerformance(testUser.getId());
+        ResponseEntity<PortfolioPerformanceDTO> response = investmentController.getPortfolioPerformance(testUser.getId());
 
-        Map<String, Double> performance = response.getBody();
+        PortfolioPerformanceDTO performance = response.getBody();
         assertNotNull(performance);
-        assertTrue(performance.containsKey("totalInvested"));
-        assertTrue(performance.containsKey("currentValue"));
-        assertTrue(performance.containsKey("profitLoss"));
-        assertTrue(performance.containsKey("returnPercentage"));
+        assertEquals(1500.0, performance.getTotalInvested(), 0.001);
+        assertNotNull(performance.getQuoteSources());
+        assertNotNull(performance.getUnpricedSymbols());
     }
 
     @Test
@@ -0,0 +1,103 @@
+package com.finpro.FinancePro.config;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Latency per request and connections opened against a local stub server, for a fresh-connection
+// client and the pooled client. Real Alpha Vantage calls also pay a TLS handshake per new connection,
+// so the gap in production is larger than on this plain-HTTP loopback stub.
+// Run with: mvn test -Dtest=HttpClientBenchmarkTest -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class HttpClientBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpClientBenchmarkTest.class);
+
+    private static final int REQUESTS = 2000;
+    private static final byte[] BODY = "{\"Global Quote\": {\"05. price\": \"101.00\"}}".getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    public void startStub() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/query", exchange -> {
+            // Each distinct client port is a separate TCP connection
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            exchange.getResponseBody().write(BODY);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @Test
+    public void comparePooledClientWithFreshConnections() throws Exception {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/query?function=GLOBAL_QUOTE";
+
+        // HttpURLConnection with keep-alive disabled, i.e. a new connection per request
+        System.setProperty("http.keepAlive", "false");
+        double freshMicros;
+        int freshConnections;
+        try {
+            freshMicros = run(new SimpleClientHttpRequestFactory(), url);
+            freshConnections = clientPorts.size();
+        } finally {
+            System.clearProperty("http.keepAlive");
+        }
+
+        clientPorts.clear();
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(20)
+                .setMaxConnPerRoute(10)
+                .build();
+        double pooledMicros;
+        try (CloseableHttpClient httpClient = HttpClients.custom().setConnectionManager(connectionManager).build()) {
+            pooledMicros = run(new HttpComponentsClientHttpRequestFactory(httpClient), url);
+        }
+        int pooledConnections = clientPorts.size();
+
+        logger.info("fresh connections: {} us/request over {} connections; pooled: {} us/request over {} connections",
+                Math.round(freshMicros), freshConnections, Math.round(pooledMicros), pooledConnections);
+        assertTrue(pooledConnections <= 10, "Pooled client should reuse its connections");
+        assertTrue(pooledMicros < freshMicros, "Pooled client should be faster than opening a connection per request");
+    }
+
+    private double run(ClientHttpRequestFactory requestFactory, String url) {
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        for (int i = 0; i < 200; i++) {
+            restTemplate.getForObject(url, String.class);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            assertNotNull(restTemplate.getForObject(url, String.class));
+        }
+        return (System.nanoTime() - start) / 1000.0 / REQUESTS;
+    }
+
+    @AfterEach
+    public void stopStub() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,86 @@
+package com.finpro.FinancePro.service;
+
+import com.finpro.FinancePro.dto.Request.CreateBudgetDTO;
+import com.finpro.FinancePro.dto.Request.CreateTransactionDTO;
+import com.finpro.FinancePro.entity.User;
+import com.finpro.FinancePro.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: each thread must commit its own transaction for the race to be real
+@SpringBootTest
+public class BudgetConcurrencyTest {
+
+    private static final int THREADS = 4;
+    private static final int EXPENSES_PER_THREAD = 25;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User testUser;
+
+    @BeforeEach
+    public void setUp() {
+        testUser = new User();
+        testUser.setEmail("concurrent" + System.currentTimeMillis() + "@example.com");
+        testUser.setFullName("Concurrent User " + System.currentTimeMillis());
+        testUser.setPassword("password");
+        testUser = userRepository.save(testUser);
+
+        CreateBudgetDTO createDTO = new CreateBudgetDTO();
+        createDTO.setTotalAmount(10000.0);
+        createDTO.setPeriod("MONTHLY");
+        budgetService.createBudget(testUser.getId(), createDTO);
+    }
+
+    @Test
+    public void testConcurrentExpensesAreNotLost() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < EXPENSES_PER_THREAD; i++) {
+                        CreateTransactionDTO expenseDTO = new CreateTransactionDTO();
+                        expenseDTO.setUserId(testUser.getId());
+                        expenseDTO.setCategory("FOOD");
+                        expenseDTO.setAmount(1.0);
+                        expenseDTO.setType("EXPENSE");
+                        transactionService.createTransaction(expenseDTO);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        double expected = THREADS * EXPENSES_PER_THREAD;
+        assertEquals(expected, budgetService.getBudgetByUser(testUser.getId()).getSpentAmount(), 0.001);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        // Cascades to the user's budget and transactions
+        userRepository.deleteById(testUser.getId());
+    }
+}
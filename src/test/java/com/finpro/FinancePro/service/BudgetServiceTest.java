@@ -1,8 +1,11 @@
 package com.finpro.FinancePro.service;
 
 import com.finpro.FinancePro.dto.Request.CreateBudgetDTO;
+import com.finpro.FinancePro.dto.Request.CreateTransactionDTO;
 import com.finpro.FinancePro.dto.Request.UpdateBudgetDTO;
+import com.finpro.FinancePro.dto.Request.UpdateTransactionDTO;
 import com.finpro.FinancePro.dto.Response.BudgetResponseDTO;
+import com.finpro.FinancePro.dto.Response.TransactionResponseDTO;
 import com.finpro.FinancePro.entity.Provider;
 import com.finpro.FinancePro.entity.Transaction;
 import com.finpro.FinancePro.entity.User;
@@ -40,6 +43,9 @@ public class BudgetServiceTest {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private TransactionService transactionService;
+
     private User testUser;
 
     @BeforeEach
@@ -157,6 +163,33 @@ public class BudgetServiceTest {
         assertEquals(700.0, remainingBudget);
     }
 
+    @Test
+    public void testSpentAmountFollowsTransactionChanges() {
+        CreateBudgetDTO createDTO = new CreateBudgetDTO();
+        createDTO.setTotalAmount(1000.0);
+        createDTO.setPeriod("MONTHLY");
+        budgetService.createBudget(testUser.getId(), createDTO);
+
+        CreateTransactionDTO expenseDTO = new CreateTransactionDTO();
+        expenseDTO.setUserId(testUser.getId());
+        expenseDTO.setCategory("FOOD");
+        expenseDTO.setAmount(100.0);
+        expenseDTO.setType("EXPENSE");
+        TransactionResponseDTO expense = transactionService.createTransaction(expenseDTO);
+        assertEquals(100.0, budgetService.getBudgetByUser(testUser.getId()).getSpentAmount());
+
+        UpdateTransactionDTO updateDTO = new UpdateTransactionDTO();
+        updateDTO.setId(expense.getId());
+        updateDTO.setCategory("FOOD");
+        updateDTO.setAmount(150.0);
+        updateDTO.setType("EXPENSE");
+        transactionService.updateTransaction(expense.getId(), updateDTO);
+        assertEquals(150.0, budgetService.getBudgetByUser(testUser.getId()).getSpentAmount());
+
+        transactionService.deleteTransaction(expense.getId());
+        assertEquals(0.0, budgetService.getBudgetByUser(testUser.getId()).getSpentAmount());
+    }
+
     @Test
     public void testGetBudgetByUserThrowsExceptionWhenNobudgetExists() {
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -0,0 +1,126 @@
+package com.finpro.FinancePro.service;
+
+import com.finpro.FinancePro.dto.Request.CreateBudgetDTO;
+import com.finpro.FinancePro.entity.User;
+import com.finpro.FinancePro.repository.BudgetRepository;
+import com.finpro.FinancePro.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The scheduled flush is pushed out to an hour so the tests decide when deltas reach the database
+@SpringBootTest(properties = {
+        "budget.write-behind.enabled=true",
+        "budget.write-behind.flush-interval-ms=3600000"
+})
+public class BudgetWriteBehindBufferTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BudgetWriteBehindBufferTest.class);
+
+    private static final int THREADS = 8;
+    private static final int DELTAS_PER_THREAD = 1000;
+
+    @Autowired
+    private BudgetWriteBehindBuffer budgetWriteBehindBuffer;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User testUser;
+
+    @BeforeEach
+    public void setUp() {
+        testUser = new User();
+        testUser.setEmail("writebehind" + System.currentTimeMillis() + "@example.com");
+        testUser.setFullName("Write Behind User " + System.currentTimeMillis());
+        testUser.setPassword("password");
+        testUser = userRepository.save(testUser);
+
+        CreateBudgetDTO createDTO = new CreateBudgetDTO();
+        createDTO.setTotalAmount(100000.0);
+        createDTO.setPeriod("MONTHLY");
+        budgetService.createBudget(testUser.getId(), createDTO);
+    }
+
+    @Test
+    public void testConcurrentDeltasAreVisibleBeforeAndAfterFlush() throws Exception {
+        runConcurrently(() -> budgetWriteBehindBuffer.add(testUser.getId(), 0.01));
+
+        double expected = THREADS * DELTAS_PER_THREAD * 0.01;
+        assertEquals(expected, budgetWriteBehindBuffer.getPendingAmount(testUser.getId()), 0.0001);
+        assertEquals(expected, budgetService.getBudgetByUser(testUser.getId()).getSpentAmount(), 0.0001);
+
+        budgetWriteBehindBuffer.flush();
+
+        assertEquals(0.0, budgetWriteBehindBuffer.getPendingAmount(testUser.getId()));
+        assertEquals(0, budgetWriteBehindBuffer.getPendingUserCount());
+        assertEquals(expected, budgetRepository.findByUserId(testUser.getId()).orElseThrow().getSpentAmount(), 0.0001);
+        assertEquals(expected, budgetService.getBudgetByUser(testUser.getId()).getSpentAmount(), 0.0001);
+    }
+
+    // Contention benchmark: direct row updates versus write-behind accumulation for one hot user.
+    // Run with: mvn test -Dtest=BudgetWriteBehindBufferTest -Dbenchmark=true
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void compareDirectWritesWithWriteBehind() throws Exception {
+        long directStart = System.nanoTime();
+        runConcurrently(() -> budgetRepository.incrementSpentAmount(testUser.getId(), 0.01, LocalDateTime.now()));
+        double directOpsPerSec = THREADS * DELTAS_PER_THREAD / ((System.nanoTime() - directStart) / 1e9);
+
+        long writeBehindStart = System.nanoTime();
+        runConcurrently(() -> budgetWriteBehindBuffer.add(testUser.getId(), 0.01));
+        budgetWriteBehindBuffer.flush();
+        double writeBehindOpsPerSec = THREADS * DELTAS_PER_THREAD / ((System.nanoTime() - writeBehindStart) / 1e9);
+
+        logger.info("direct UPDATE: {} ops/s, write-behind: {} ops/s ({}x)", Math.round(directOpsPerSec),
+                Math.round(writeBehindOpsPerSec), String.format("%.1f", writeBehindOpsPerSec / directOpsPerSec));
+        assertEquals(2 * THREADS * DELTAS_PER_THREAD * 0.01,
+                budgetRepository.findByUserId(testUser.getId()).orElseThrow().getSpentAmount(), 0.0001);
+    }
+
+    private void runConcurrently(Runnable delta) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < DELTAS_PER_THREAD; i++) {
+                        delta.run();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        budgetWriteBehindBuffer.discardPending(testUser.getId());
+        // Cascades to the user's budget
+        userRepository.deleteById(testUser.getId());
+    }
+}
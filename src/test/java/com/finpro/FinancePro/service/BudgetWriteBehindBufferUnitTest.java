@@ -0,0 +1,91 @@
+package com.finpro.FinancePro.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+// Buffer behaviour that needs no database: flush failures and the recompute gate
+public class BudgetWriteBehindBufferUnitTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final BudgetWriteBehindBuffer buffer = new BudgetWriteBehindBuffer();
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(buffer, "enabled", true);
+        ReflectionTestUtils.setField(buffer, "maxPendingAgeMs", 50L);
+        ReflectionTestUtils.setField(buffer, "jdbcTemplate", jdbcTemplate);
+    }
+
+    @Test
+    public void testStopsAcceptingWritesAfterFlushesFailForMaxPendingAge() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+        buffer.add(1L, 12.5);
+
+        buffer.flush();
+        // The delta is kept for the next attempt and a single failure is tolerated
+        assertEquals(12.5, buffer.getPendingAmount(1L), 0.001);
+        assertTrue(buffer.acceptsWrites());
+
+        Thread.sleep(60);
+        buffer.flush();
+        assertFalse(buffer.acceptsWrites());
+
+        // Recovers as soon as a flush goes through
+        reset(jdbcTemplate);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+        buffer.flush();
+        assertTrue(buffer.acceptsWrites());
+        assertEquals(0.0, buffer.getPendingAmount(1L));
+    }
+
+    @Test
+    public void testResyncWaitsForExpenseBetweenCommitAndBuffering() throws Exception {
+        // An expense transaction has queued its delta but not yet completed
+        TransactionSynchronizationManager.initSynchronization();
+        buffer.addAfterCommit(1L, 40.0);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Double> resync = executor.submit(() -> buffer.resyncSpentAmount(1L, () -> 100.0));
+            Thread.sleep(100);
+            assertFalse(resync.isDone(), "resync must wait for the expense transaction to complete");
+
+            // Commit: the delta reaches the buffer, then the gate is released
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+            assertEquals(100.0, resync.get(5, TimeUnit.SECONDS));
+            // The recompute already counts the expense, so its delta is not applied again
+            assertEquals(0.0, buffer.getPendingAmount(1L));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDisabledBufferAcceptsNoWrites() {
+        ReflectionTestUtils.setField(buffer, "enabled", false);
+
+        assertFalse(buffer.acceptsWrites());
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,117 @@
+package com.finpro.FinancePro.service;
+
+import com.finpro.FinancePro.dto.Response.BudgetResponseDTO;
+import com.finpro.FinancePro.dto.Response.DashboardDTO;
+import com.finpro.FinancePro.dto.Response.GoalProgressDTO;
+import com.finpro.FinancePro.dto.Response.PortfolioPerformanceDTO;
+import com.finpro.FinancePro.dto.Response.TransactionPageDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class DashboardServiceTest {
+
+    private static final long SECTION_DELAY_MS = 300;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private BudgetService budgetService;
+
+    @Mock
+    private GoalService goalService;
+
+    @Mock
+    private InvestmentService investmentService;
+
+    @InjectMocks
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(dashboardService, "sectionTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(dashboardService, "quoteSectionTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(dashboardService, "recentTransactionCount", 10);
+
+        // Every section takes a while, so running them one after another would take several delays
+        when(transactionService.calculateTotalsByType(1L)).thenAnswer(invocation -> {
+            Thread.sleep(SECTION_DELAY_MS);
+            return Map.of("INCOME", 3000.0, "EXPENSE", 1200.0);
+        });
+        when(goalService.calculateGoalProgressByUserId(1L)).thenAnswer(invocation -> {
+            Thread.sleep(SECTION_DELAY_MS);
+            return new GoalProgressDTO();
+        });
+        when(transactionService.getTransactionsPage(eq(1L), any(), anyInt(), any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(SECTION_DELAY_MS);
+                    TransactionPageDTO page = new TransactionPageDTO();
+                    page.setTransactions(List.of());
+                    return page;
+                });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dashboardService.shutdown();
+    }
+
+    @Test
+    public void testSectionsRunInParallel() {
+        when(budgetService.getBudgetByUser(1L)).thenAnswer(invocation -> {
+            Thread.sleep(SECTION_DELAY_MS);
+            return new BudgetResponseDTO();
+        });
+        when(investmentService.calculatePortfolioPerformance(1L)).thenAnswer(invocation -> {
+            Thread.sleep(SECTION_DELAY_MS);
+            return new PortfolioPerformanceDTO();
+        });
+
+        long start = System.nanoTime();
+        DashboardDTO dashboard = dashboardService.getDashboard(1L);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMs < 3 * SECTION_DELAY_MS, "sections should overlap, took " + elapsedMs + "ms");
+        assertEquals(3000.0, dashboard.getIncomeTotal());
+        assertNotNull(dashboard.getBudget());
+        assertNotNull(dashboard.getPortfolio());
+        assertTrue(dashboard.getSectionErrors().isEmpty());
+    }
+
+    @Test
+    public void testFailingAndSlowSectionsAreReportedWithinDeadline() {
+        when(budgetService.getBudgetByUser(1L))
+                .thenThrow(new RuntimeException("ERROR: relation \"budget\" does not exist"));
+        when(investmentService.calculatePortfolioPerformance(1L)).thenAnswer(invocation -> {
+            Thread.sleep(10000);
+            return new PortfolioPerformanceDTO();
+        });
+
+        long start = System.nanoTime();
+        DashboardDTO dashboard = dashboardService.getDashboard(1L);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMs < 1500, "portfolio section should be cut off at its deadline, took " + elapsedMs + "ms");
+        assertNull(dashboard.getBudget());
+        assertNull(dashboard.getPortfolio());
+        assertEquals("Unavailable", dashboard.getSectionErrors().get("budget"));
+        assertEquals("Timed out", dashboard.getSectionErrors().get("portfolio"));
+        assertEquals(3000.0, dashboard.getIncomeTotal());
+        assertNotNull(dashboard.getGoalProgress());
+    }
+}
@@ -0,0 +1,60 @@
+package com.finpro.FinancePro.service;
+
+import com.finpro.FinancePro.dto.Response.GoalRepairResultDTO;
+import com.finpro.FinancePro.exception.ResourceNotFoundException;
+import com.finpro.FinancePro.repository.GoalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class GoalProjectionRepairJobTest {
+
+    @Mock
+    private GoalRepository goalRepository;
+
+    @Mock
+    private GoalProjectionService goalProjectionService;
+
+    @Mock
+    private JobLeaseService jobLeaseService;
+
+    @InjectMocks
+    private GoalProjectionRepairJob job;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(goalRepository.findUserIdsAfter(eq(0L), any())).thenReturn(List.of(1L, 2L));
+    }
+
+    @Test
+    public void testOneFailingUserDoesNotAbortTheRepair() {
+        when(jobLeaseService.tryClaim(eq(GoalProjectionRepairJob.REPAIR_JOB), anyLong())).thenReturn(true);
+        when(goalProjectionService.rebuild(1L)).thenThrow(new ResourceNotFoundException("Goal not found"));
+        when(goalProjectionService.rebuild(2L)).thenReturn(new GoalRepairResultDTO());
+
+        job.repairAll();
+
+        verify(goalProjectionService).rebuild(2L);
+        verify(jobLeaseService).release(GoalProjectionRepairJob.REPAIR_JOB);
+    }
+
+    @Test
+    public void testSkipsWhileAnotherNodeHoldsTheLease() {
+        when(jobLeaseService.tryClaim(eq(GoalProjectionRepairJob.REPAIR_JOB), anyLong())).thenReturn(false);
+
+        job.repairAll();
+
+        verifyNoInteractions(goalProjectionService);
+        verify(jobLeaseService, never()).release(any());
+    }
+}
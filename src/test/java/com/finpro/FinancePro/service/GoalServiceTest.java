@@ -2,9 +2,12 @@ package com.finpro.FinancePro.service;
 
 import com.finpro.FinancePro.dto.Request.CreateBudgetDTO;
 import com.finpro.FinancePro.dto.Request.CreateGoalDTO;
+import com.finpro.FinancePro.dto.Request.CreateTransactionDTO;
 import com.finpro.FinancePro.dto.Request.UpdateGoalDTO;
 import com.finpro.FinancePro.dto.Response.GoalProgressDTO;
+import com.finpro.FinancePro.dto.Response.GoalRepairResultDTO;
 import com.finpro.FinancePro.dto.Response.GoalResponseDTO;
+import com.finpro.FinancePro.dto.Response.TransactionResponseDTO;
 import com.finpro.FinancePro.entity.Goal;
 import com.finpro.FinancePro.entity.User;
 import com.finpro.FinancePro.exception.InvalidRequestException;
@@ -34,6 +37,12 @@ public class GoalServiceTest {
     @Autowired
     private BudgetService budgetService;
 
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
     private User testUser;
     private Long testUserId;  // Declare this here
 
@@ -175,6 +184,55 @@ public class GoalServiceTest {
         assertFalse(goalService.isUserAuthorizedForGoal(createdGoal.getId(), 99999L));
     }
 
+    @Test
+    public void testGoalProgressFollowsTransactionEvents() {
+        CreateGoalDTO createDTO = new CreateGoalDTO();
+        createDTO.setName("Projection Goal");
+        createDTO.setTargetAmount(10000.0);
+        goalService.createGoal(createDTO, testUserId);
+        double initialAmount = goalService.calculateGoalProgressByUserId(testUserId).getCurrentAmount();
+
+        CreateTransactionDTO incomeDTO = new CreateTransactionDTO();
+        incomeDTO.setUserId(testUserId);
+        incomeDTO.setCategory("Salary");
+        incomeDTO.setAmount(1000.0);
+        incomeDTO.setType("INCOME");
+        transactionService.createTransaction(incomeDTO);
+
+        CreateTransactionDTO expenseDTO = new CreateTransactionDTO();
+        expenseDTO.setUserId(testUserId);
+        expenseDTO.setCategory("Rent");
+        expenseDTO.setAmount(200.0);
+        expenseDTO.setType("EXPENSE");
+        TransactionResponseDTO expense = transactionService.createTransaction(expenseDTO);
+
+        assertEquals(initialAmount + 800.0, goalService.calculateGoalProgressByUserId(testUserId).getCurrentAmount(), 0.001);
+
+        transactionService.deleteTransaction(expense.getId());
+
+        assertEquals(initialAmount + 1000.0, goalService.getGoalByUserId(testUserId).getCurrentAmount(), 0.001);
+        assertEquals(0.0, goalService.repairGoalProjection(testUserId).getDrift(), 0.001);
+    }
+
+    @Test
+    public void testRepairGoalProjectionReportsDrift() {
+        CreateGoalDTO createDTO = new CreateGoalDTO();
+        createDTO.setName("Drifted Goal");
+        createDTO.setTargetAmount(10000.0);
+        goalService.createGoal(createDTO, testUserId);
+
+        Goal goal = goalRepository.findByUserId(testUserId).orElseThrow();
+        double correctAmount = goal.getCurrentAmount();
+        goal.setCurrentAmount(correctAmount - 123.0);
+        goalRepository.saveAndFlush(goal);
+
+        GoalRepairResultDTO result = goalService.repairGoalProjection(testUserId);
+
+        assertEquals(123.0, result.getDrift(), 0.001);
+        assertEquals(correctAmount, result.getRecomputedAmount(), 0.001);
+        assertEquals(correctAmount, goalService.getGoalByUserId(testUserId).getCurrentAmount(), 0.001);
+    }
+
     // Cleanup after tests
     @BeforeEach
     public void tearDown() {
@@ -3,11 +3,17 @@ package com.finpro.FinancePro.service;
 import com.finpro.FinancePro.dto.Request.CreateInvestmentDTO;
 import com.finpro.FinancePro.dto.Request.UpdateInvestmentDTO;
 import com.finpro.FinancePro.dto.Response.InvestmentResponseDTO;
+import com.finpro.FinancePro.dto.Response.PortfolioPerformanceDTO;
+import com.finpro.FinancePro.dto.Response.PositionRepairResultDTO;
 import com.finpro.FinancePro.entity.Investment;
+import com.finpro.FinancePro.entity.JobLease;
+import com.finpro.FinancePro.entity.Position;
 import com.finpro.FinancePro.entity.Provider;
 import com.finpro.FinancePro.entity.User;
 import com.finpro.FinancePro.exception.ResourceNotFoundException;
 import com.finpro.FinancePro.repository.InvestmentRepository;
+import com.finpro.FinancePro.repository.JobLeaseRepository;
+import com.finpro.FinancePro.repository.PositionRepository;
 import com.finpro.FinancePro.repository.UserRepository;
 import com.finpro.FinancePro.security.SecurityUtils;
 import jakarta.transaction.Transactional;
@@ -16,8 +22,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.Instant;
 import java.util.List;
-import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -34,6 +40,18 @@ public class InvestmentServiceTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PositionService positionService;
+
+    @Autowired
+    private PositionRepository positionRepository;
+
+    @Autowired
+    private PositionReconciliationJob positionReconciliationJob;
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
     private User testUser;
     private CreateInvestmentDTO createInvestmentDTO;
 
@@ -149,14 +167,99 @@ public class InvestmentServiceTest {
         investmentService.createInvestment(createInvestmentDTO);
 
         // Calculate portfolio performance
-        Map<String, Double> performance = investmentService.calculatePortfolioPerformance(testUser.getId());
+        PortfolioPerformanceDTO performance = investmentService.calculatePortfolioPerformance(testUser.getId());
 
         // Assertions
         assertNotNull(performance);
-        assertTrue(performance.containsKey("totalInvested"));
-        assertTrue(performance.containsKey("currentValue"));
-        assertTrue(performance.containsKey("profitLoss"));
-        assertTrue(performance.containsKey("returnPercentage"));
+        assertEquals(performance.getCurrentValue() - performance.getTotalInvested(), performance.getProfitLoss(), 0.001);
+
+        // The symbol is either priced (with its quote source) or reported as unpriced and left out of the totals
+        boolean priced = performance.getQuoteSources().containsKey("AAPL");
+        boolean unpriced = performance.getUnpricedSymbols().contains("AAPL");
+        assertTrue(priced ^ unpriced);
+        assertEquals(priced ? 1500.0 : 0.0, performance.getTotalInvested(), 0.001);
+    }
+
+    @Test
+    public void testPositionsFollowLotChanges() {
+        InvestmentResponseDTO first = investmentService.createInvestment(createInvestmentDTO);
+        createInvestmentDTO.setQuantity(5.0);
+        createInvestmentDTO.setPurchasePrice(200.0);
+        InvestmentResponseDTO second = investmentService.createInvestment(createInvestmentDTO);
+
+        List<Position> positions = positionService.getPositions(testUser.getId());
+        assertEquals(1, positions.size());
+        assertEquals(15.0, positions.get(0).getQuantity(), 0.001);
+        assertEquals(2500.0, positions.get(0).getCostBasis(), 0.001);
+
+        UpdateInvestmentDTO updateDTO = new UpdateInvestmentDTO();
+        updateDTO.setInvestmentId(first.getId());
+        updateDTO.setQuantity(20.0);
+        investmentService.updateInvestment(testUser.getId(), updateDTO);
+        investmentService.deleteInvestment(second.getId());
+
+        positions = positionService.getPositions(testUser.getId());
+        assertEquals(20.0, positions.get(0).getQuantity(), 0.001);
+        assertEquals(3000.0, positions.get(0).getCostBasis(), 0.001);
+        assertEquals(0, positionService.reconcile(testUser.getId()).getPositionsDrifted());
+    }
+
+    @Test
+    public void testReconcileRepairsDriftedPosition() {
+        investmentService.createInvestment(createInvestmentDTO);
+        Position position = positionService.getPositions(testUser.getId()).get(0);
+        position.setQuantity(99.0);
+        positionRepository.saveAndFlush(position);
+
+        PositionRepairResultDTO result = positionService.reconcile(testUser.getId());
+
+        assertEquals(1, result.getPositionsChecked());
+        assertEquals(1, result.getPositionsDrifted());
+        assertEquals(10.0, positionService.getPositions(testUser.getId()).get(0).getQuantity(), 0.001);
+    }
+
+    @Test
+    public void testSymbolsAreNormalizedOnWrite() {
+        createInvestmentDTO.setSymbol(" aapl ");
+        InvestmentResponseDTO lowerCase = investmentService.createInvestment(createInvestmentDTO);
+        createInvestmentDTO.setSymbol("AAPL");
+        investmentService.createInvestment(createInvestmentDTO);
+
+        assertEquals("AAPL", lowerCase.getSymbol());
+        List<Position> positions = positionService.getPositions(testUser.getId());
+        assertEquals(1, positions.size());
+        assertEquals("AAPL", positions.get(0).getSymbol());
+        assertEquals(20.0, positions.get(0).getQuantity(), 0.001);
+        assertEquals(0, positionService.reconcile(testUser.getId()).getPositionsDrifted());
+    }
+
+    @Test
+    public void testBackfillBuildsPositionsForLotsWithoutThem() {
+        investmentService.createInvestment(createInvestmentDTO);
+        // As if the lot predates positions
+        positionRepository.deleteByUserId(testUser.getId());
+
+        positionReconciliationJob.backfillMissingPositions();
+
+        List<Position> positions = positionService.getPositions(testUser.getId());
+        assertEquals(1, positions.size());
+        assertEquals(10.0, positions.get(0).getQuantity(), 0.001);
+        assertFalse(jobLeaseRepository.existsById(PositionReconciliationJob.BACKFILL_JOB));
+    }
+
+    @Test
+    public void testBackfillSkipsWhileAnotherNodeHoldsTheJob() {
+        investmentService.createInvestment(createInvestmentDTO);
+        positionRepository.deleteByUserId(testUser.getId());
+        JobLease lease = new JobLease();
+        lease.setName(PositionReconciliationJob.BACKFILL_JOB);
+        lease.setOwner("other-node");
+        lease.setExpiresAt(Instant.now().plusSeconds(3600));
+        jobLeaseRepository.saveAndFlush(lease);
+
+        positionReconciliationJob.backfillMissingPositions();
+
+        assertTrue(positionService.getPositions(testUser.getId()).isEmpty());
     }
 
     @BeforeEach
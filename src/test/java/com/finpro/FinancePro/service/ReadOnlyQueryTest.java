@@ -0,0 +1,71 @@
+package com.finpro.FinancePro.service;
+
+import com.finpro.FinancePro.dto.Request.CreateBudgetDTO;
+import com.finpro.FinancePro.dto.Request.CreateGoalDTO;
+import com.finpro.FinancePro.entity.User;
+import com.finpro.FinancePro.repository.GoalRepository;
+import com.finpro.FinancePro.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.finpro.FinancePro.service.SqlStatementCounter")
+@Transactional
+public class ReadOnlyQueryTest {
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    private User testUser;
+
+    @BeforeEach
+    public void setUp() {
+        testUser = new User();
+        testUser.setEmail("readonly" + System.currentTimeMillis() + "@example.com");
+        testUser.setFullName("Read Only User " + System.currentTimeMillis());
+        testUser.setPassword("password");
+        testUser = userRepository.save(testUser);
+
+        CreateBudgetDTO createBudgetDTO = new CreateBudgetDTO();
+        createBudgetDTO.setTotalAmount(2000.0);
+        createBudgetDTO.setPeriod("MONTHLY");
+        budgetService.createBudget(testUser.getId(), createBudgetDTO);
+
+        CreateGoalDTO createGoalDTO = new CreateGoalDTO();
+        createGoalDTO.setName("Read Only Goal");
+        createGoalDTO.setTargetAmount(5000.0);
+        goalService.createGoal(createGoalDTO, testUser.getId());
+
+        // Push the setup writes out before counting
+        goalRepository.flush();
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    public void testGetsIssueNoUpdates() {
+        budgetService.getBudgetByUser(testUser.getId());
+        budgetService.getBudgetByUserAndPeriod(testUser.getId(), "MONTHLY");
+        goalService.getGoalByUserId(testUser.getId());
+        goalService.calculateGoalProgressByUserId(testUser.getId());
+
+        // Anything dirtied by the reads would be written here
+        goalRepository.flush();
+
+        assertEquals(0, SqlStatementCounter.getUpdateCount());
+        assertEquals(0, SqlStatementCounter.getDmlCount());
+    }
+}
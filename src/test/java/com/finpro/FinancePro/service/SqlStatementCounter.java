@@ -0,0 +1,40 @@
+package com.finpro.FinancePro.service;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Hibernate statement inspector that counts DML statements, for tests that assert reads stay read-only
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final AtomicInteger updates = new AtomicInteger();
+    private static final AtomicInteger inserts = new AtomicInteger();
+    private static final AtomicInteger deletes = new AtomicInteger();
+
+    @Override
+    public String inspect(String sql) {
+        String statement = sql.stripLeading().toLowerCase();
+        if (statement.startsWith("update")) {
+            updates.incrementAndGet();
+        } else if (statement.startsWith("insert")) {
+            inserts.incrementAndGet();
+        } else if (statement.startsWith("delete")) {
+            deletes.incrementAndGet();
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        updates.set(0);
+        inserts.set(0);
+        deletes.set(0);
+    }
+
+    public static int getUpdateCount() {
+        return updates.get();
+    }
+
+    public static int getDmlCount() {
+        return updates.get() + inserts.get() + deletes.get();
+    }
+}
@@ -0,0 +1,440 @@
+package com.finpro.FinancePro.service;
+
+import com.finpro.FinancePro.dto.Request.CreateInvestmentDTO;
+import com.finpro.FinancePro.dto.Response.PortfolioPerformanceDTO;
+import com.finpro.FinancePro.dto.Response.QuoteResultDTO;
+import com.finpro.FinancePro.dto.Response.QuoteSource;
+import com.finpro.FinancePro.dto.Response.QuoteStatus;
+import com.finpro.FinancePro.dto.Response.StockQuoteDTO;
+import com.finpro.FinancePro.entity.Provider;
+import com.finpro.FinancePro.entity.QuoteFetchLease;
+import com.finpro.FinancePro.entity.User;
+import com.finpro.FinancePro.exception.ResourceNotFoundException;
+import com.finpro.FinancePro.exception.StockApiException;
+import com.finpro.FinancePro.repository.QuoteFetchLeaseRepository;
+import com.finpro.FinancePro.repository.StoredQuoteRepository;
+import com.finpro.FinancePro.repository.UserRepository;
+import com.finpro.FinancePro.util.QuoteCache;
+import com.finpro.FinancePro.util.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = {
+        "stock.quote.use.mock=false",
+        "alphavantage.cache.duration=1000",
+        "market.hours.enabled=false",
+        "portfolio.quote-deadline-ms=300",
+        "quote.ownership.lease-ms=1000"
+})
+public class StockQuoteCacheTest {
+
+    private static final int CALLERS = 16;
+
+    @Autowired
+    private InvestmentService investmentService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private QuoteCache quoteCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StoredQuoteRepository storedQuoteRepository;
+
+    @Autowired
+    private QuoteFetchLeaseRepository quoteFetchLeaseRepository;
+
+    @Autowired
+    private SharedQuoteStore sharedQuoteStore;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    // Always allow, so the tests exercise the cache rather than the API key quota
+    @MockBean
+    private RateLimiter rateLimiter;
+
+    private final List<String> symbols = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        when(rateLimiter.tryAcquire(any(), anyLong())).thenReturn(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        // Quotes are also written to the shared store
+        storedQuoteRepository.deleteAllById(symbols);
+        quoteFetchLeaseRepository.deleteAllById(symbols);
+    }
+
+    @Test
+    public void testRepeatedRequestIsServedFromCache() {
+        String symbol = testSymbol("HIT");
+        when(quoteRequest()).thenAnswer(invocation -> respond(invocation, intradayBody("101.00")));
+
+        long hitsBefore = quoteCache.stats().hitCount();
+        investmentService.getStockQuote(symbol);
+        StockQuoteDTO second = investmentService.getStockQuote(symbol);
+
+        assertEquals(101.0, second.getCurrentPrice());
+        verifyQuoteRequests(1);
+        assertTrue(quoteCache.stats().hitCount() > hitsBefore);
+    }
+
+    @Test
+    public void testSymbolSpellingsShareOneCacheEntry() {
+        String symbol = testSymbol("CASE");
+        when(quoteRequest()).thenAnswer(invocation -> respond(invocation, intradayBody("101.00")));
+
+        investmentService.getStockQuote(" " + symbol.toLowerCase(Locale.ROOT) + " ");
+        StockQuoteDTO second = investmentService.getStockQuote(symbol);
+
+        assertEquals(symbol, second.getSymbol());
+        verifyQuoteRequests(1);
+    }
+
+    @Test
+    public void testConcurrentColdRequestsShareOneUpstreamCall() throws Exception {
+        String symbol = testSymbol("COAL");
+
+        // Slow upstream so every caller arrives while the first fetch is still running
+        when(quoteRequest()).thenAnswer(invocation -> {
+            Thread.sleep(500);
+            return respond(invocation, intradayBody("101.00"));
+        });
+
+        double coalescedBefore = counter("coalesced");
+        double originatedBefore = counter("originated");
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        List<Future<StockQuoteDTO>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return investmentService.getStockQuote(symbol);
+                }));
+            }
+            start.countDown();
+            for (Future<StockQuoteDTO> future : futures) {
+                StockQuoteDTO quote = future.get();
+                assertEquals(symbol, quote.getSymbol());
+                assertEquals(101.0, quote.getCurrentPrice());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        verifyQuoteRequests(1);
+        assertEquals(1.0, counter("originated") - originatedBefore);
+        assertEquals(CALLERS - 1.0, counter("coalesced") - coalescedBefore);
+    }
+
+    @Test
+    public void testStaleQuoteIsServedWhileRefreshing() throws Exception {
+        String symbol = testSymbol("SWR");
+        when(quoteRequest()).thenAnswer(invocation -> respond(invocation, intradayBody("101.00")));
+        StockQuoteDTO first = investmentService.getStockQuote(symbol);
+
+        // Let the quote pass the soft TTL, then make the upstream slow and return a new price
+        Thread.sleep(1100);
+        when(quoteRequest()).thenAnswer(invocation -> {
+            Thread.sleep(500);
+            return respond(invocation, intradayBody("105.00"));
+        });
+
+        long start = System.nanoTime();
+        StockQuoteDTO stale = investmentService.getStockQuote(symbol);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(101.0, stale.getCurrentPrice());
+        assertEquals(first.getAsOf(), stale.getAsOf());
+        assertTrue(elapsedMs < 250, "stale quote should not wait for the refresh, took " + elapsedMs + "ms");
+
+        // The background refresh replaces the entry
+        long deadline = System.currentTimeMillis() + 5000;
+        while (quoteCache.get(symbol).getQuote().getCurrentPrice() != 105.0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        StockQuoteDTO refreshed = investmentService.getStockQuote(symbol);
+        assertEquals(105.0, refreshed.getCurrentPrice());
+        assertTrue(refreshed.getAsOf().isAfter(first.getAsOf()));
+        verifyQuoteRequests(2);
+    }
+
+    @Test
+    public void testPortfolioReportsSymbolsMissingTheDeadline() {
+        String cachedSymbol = testSymbol("FAST");
+        String slowSymbol = testSymbol("SLOW");
+        when(quoteRequest()).thenAnswer(invocation -> {
+            if (invocation.getArgument(0, String.class).contains(slowSymbol)) {
+                Thread.sleep(1500);
+            }
+            return respond(invocation, intradayBody("101.00"));
+        });
+        investmentService.getStockQuote(cachedSymbol);
+
+        User user = new User();
+        user.setEmail("portfolio" + System.currentTimeMillis() + "@example.com");
+        user.setFullName("Portfolio User " + System.currentTimeMillis());
+        user.setPassword("password");
+        user.setProvider(Provider.SELF);
+        user = userRepository.save(user);
+        try {
+            for (String symbol : List.of(cachedSymbol, slowSymbol)) {
+                CreateInvestmentDTO createDTO = new CreateInvestmentDTO();
+                createDTO.setUserId(user.getId());
+                createDTO.setType("Stock");
+                createDTO.setSymbol(symbol);
+                createDTO.setQuantity(10.0);
+                createDTO.setPurchasePrice(100.0);
+                investmentService.createInvestment(createDTO);
+            }
+
+            long start = System.nanoTime();
+            PortfolioPerformanceDTO performance = investmentService.calculatePortfolioPerformance(user.getId());
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            assertTrue(elapsedMs < 1000, "portfolio should not wait past its deadline, took " + elapsedMs + "ms");
+            assertEquals(QuoteSource.CACHE, performance.getQuoteSources().get(cachedSymbol));
+            assertEquals(List.of(slowSymbol), performance.getUnpricedSymbols());
+            assertEquals(1010.0, performance.getCurrentValue(), 0.001);
+            // The unpriced symbol's cost is not counted as a loss
+            assertEquals(1000.0, performance.getTotalInvested(), 0.001);
+            assertEquals(10.0, performance.getProfitLoss(), 0.001);
+        } finally {
+            userRepository.deleteById(user.getId());
+        }
+    }
+
+    @Test
+    public void testQuoteIsSharedThroughStore() {
+        String symbol = testSymbol("L2");
+        when(quoteRequest()).thenAnswer(invocation -> respond(invocation, intradayBody("101.00")));
+        StockQuoteDTO fetched = investmentService.getStockQuote(symbol);
+        assertTrue(storedQuoteRepository.existsById(symbol));
+
+        // Simulate a node that has never seen the symbol
+        quoteCache.invalidate(symbol);
+        StockQuoteDTO shared = investmentService.getStockQuote(symbol);
+
+        assertEquals(101.0, shared.getCurrentPrice());
+        assertEquals(fetched.getAsOf().toEpochMilli(), shared.getAsOf().toEpochMilli());
+        verifyQuoteRequests(1);
+    }
+
+    @Test
+    public void testNonOwnerWaitsForLeaseHoldersQuote() throws Exception {
+        String symbol = testSymbol("OWN");
+
+        // Another node holds the fetch lease and publishes its quote shortly
+        holdLease(symbol, Instant.now().plusSeconds(30), null);
+
+        StockQuoteDTO published = new StockQuoteDTO();
+        published.setSymbol(symbol);
+        published.setCurrentPrice(55.0);
+        published.setAsOf(Instant.now());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> {
+                Thread.sleep(300);
+                sharedQuoteStore.save(published);
+                return null;
+            });
+
+            StockQuoteDTO quote = investmentService.getStockQuote(symbol);
+
+            assertEquals(55.0, quote.getCurrentPrice());
+            verifyQuoteRequests(0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWaiterTimesOutWithoutFetchingWhileLeaseIsHeld() {
+        String symbol = testSymbol("HELD");
+        holdLease(symbol, Instant.now().plusSeconds(30), null);
+
+        assertThrows(StockApiException.class, () -> investmentService.getStockQuote(symbol));
+
+        verifyQuoteRequests(0);
+    }
+
+    @Test
+    public void testWaiterTakesOverLapsedLease() {
+        String symbol = testSymbol("LAPSE");
+        holdLease(symbol, Instant.now().plusMillis(300), null);
+        when(quoteRequest()).thenAnswer(invocation -> respond(invocation, intradayBody("77.00")));
+
+        StockQuoteDTO quote = investmentService.getStockQuote(symbol);
+
+        assertEquals(77.0, quote.getCurrentPrice());
+        verifyQuoteRequests(1);
+        // Released after a successful fetch
+        assertFalse(quoteFetchLeaseRepository.existsById(symbol));
+    }
+
+    @Test
+    public void testWaiterReadsOwnersNotFoundAnswer() {
+        String symbol = testSymbol("GONE");
+        holdLease(symbol, Instant.now().plusSeconds(30), "Stock data not found for symbol: " + symbol);
+
+        assertThrows(ResourceNotFoundException.class, () -> investmentService.getStockQuote(symbol));
+
+        verifyQuoteRequests(0);
+    }
+
+    @Test
+    public void testOwnerKeepsLeaseForNotFoundAnswer() {
+        String symbol = testSymbol("NOPE");
+        when(quoteRequest()).thenAnswer(invocation -> respond(invocation,
+                "{\"Error Message\": \"Invalid API call. Please retry or visit the documentation.\"}"));
+
+        assertThrows(ResourceNotFoundException.class, () -> investmentService.getStockQuote(symbol));
+
+        QuoteFetchLease lease = quoteFetchLeaseRepository.findById(symbol).orElseThrow();
+        assertNotNull(lease.getNotFoundMessage());
+    }
+
+    @Test
+    public void testUnknownSymbolIsNegativelyCached() {
+        String symbol = testSymbol("BAD");
+        when(quoteRequest()).thenAnswer(invocation -> respond(invocation,
+                "{\"Error Message\": \"Invalid API call. Please retry or visit the documentation.\"}"));
+
+        double hitsBefore = negativeCacheHits();
+        assertThrows(ResourceNotFoundException.class, () -> investmentService.getStockQuote(symbol));
+        assertThrows(ResourceNotFoundException.class, () -> investmentService.getStockQuote(symbol));
+
+        verifyQuoteRequests(1);
+        assertEquals(hitsBefore + 1, negativeCacheHits());
+    }
+
+    @Test
+    public void testThrottledResponseIsNotNegativelyCached() {
+        String symbol = testSymbol("NOTE");
+        when(quoteRequest()).thenAnswer(invocation -> respond(invocation,
+                "{\"Note\": \"Thank you for using Alpha Vantage! Our standard API call frequency is 5 calls per minute.\"}"));
+
+        assertThrows(StockApiException.class, () -> investmentService.getStockQuote(symbol));
+        assertThrows(StockApiException.class, () -> investmentService.getStockQuote(symbol));
+
+        verifyQuoteRequests(2);
+    }
+
+    @Test
+    public void testBatchReportsStatusPerSymbol() {
+        String cachedSymbol = testSymbol("BCACHED");
+        String fetchedSymbol = testSymbol("BFETCH");
+        String unknownSymbol = testSymbol("BUNKNOWN");
+        when(quoteRequest()).thenAnswer(invocation -> {
+            String url = invocation.getArgument(0);
+            return url.contains(unknownSymbol)
+                    ? respond(invocation, "{\"Error Message\": \"Invalid API call.\"}")
+                    : respond(invocation, intradayBody("101.00"));
+        });
+        investmentService.getStockQuote(cachedSymbol);
+
+        List<QuoteResultDTO> results = investmentService.getStockQuotes(
+                List.of(cachedSymbol, fetchedSymbol, unknownSymbol, cachedSymbol));
+
+        assertEquals(List.of(cachedSymbol, fetchedSymbol, unknownSymbol),
+                results.stream().map(QuoteResultDTO::getSymbol).toList());
+        assertEquals(QuoteStatus.OK, results.get(0).getStatus());
+        assertEquals(QuoteSource.CACHE, results.get(0).getSource());
+        assertEquals(QuoteStatus.OK, results.get(1).getStatus());
+        assertEquals(QuoteSource.FRESH, results.get(1).getSource());
+        assertEquals(101.0, results.get(1).getQuote().getCurrentPrice());
+        assertEquals(QuoteStatus.NOT_FOUND, results.get(2).getStatus());
+        assertNull(results.get(2).getQuote());
+        verifyQuoteRequests(3);
+    }
+
+    private double negativeCacheHits() {
+        return meterRegistry.get("cache.gets").tag("cache", "stockQuotesNotFound").tag("result", "hit")
+                .functionCounter().count();
+    }
+
+    // Simulates another node holding the symbol's fetch lease
+    private void holdLease(String symbol, Instant expiresAt, String notFoundMessage) {
+        QuoteFetchLease lease = new QuoteFetchLease();
+        lease.setSymbol(symbol);
+        lease.setOwner("other-node");
+        lease.setExpiresAt(expiresAt);
+        lease.setNotFoundMessage(notFoundMessage);
+        quoteFetchLeaseRepository.save(lease);
+    }
+
+    private String testSymbol(String prefix) {
+        String symbol = prefix + System.nanoTime();
+        symbols.add(symbol);
+        return symbol;
+    }
+
+    private double counter(String outcome) {
+        return meterRegistry.get("stock.quote.upstream.requests").tag("outcome", outcome).counter().count();
+    }
+
+    private Object quoteRequest() {
+        return restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any(ResponseExtractor.class));
+    }
+
+    private void verifyQuoteRequests(int count) {
+        verify(restTemplate, times(count)).execute(anyString(), eq(HttpMethod.GET), any(), any(ResponseExtractor.class));
+    }
+
+    // Runs the service's response extractor against a canned body, as RestTemplate would
+    private Object respond(InvocationOnMock invocation, String json) throws Exception {
+        ResponseExtractor<?> extractor = invocation.getArgument(3);
+        return extractor.extractData(new MockClientHttpResponse(json.getBytes(StandardCharsets.UTF_8), HttpStatus.OK));
+    }
+
+    private String intradayBody(String close) {
+        return """
+                {
+                  "Meta Data": {"2. Symbol": "TEST", "3. Last Refreshed": "2024-01-02 16:00:00"},
+                  "Time Series (5min)": {
+                    "2024-01-02 15:55:00": {"1. open": "99.00", "2. high": "100.00", "3. low": "98.00",
+                                            "4. close": "99.50", "5. volume": "900"},
+                    "2024-01-02 16:00:00": {"1. open": "100.00", "2. high": "102.00", "3. low": "99.00",
+                                            "4. close": "%s", "5. volume": "1000"}
+                  }
+                }
+                """.formatted(close);
+    }
+}
@@ -0,0 +1,63 @@
+package com.finpro.FinancePro.service;
+
+import com.finpro.FinancePro.dto.Response.SymbolDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SymbolDirectoryTest {
+
+    private static final String LISTING = """
+            symbol,name,exchange,assetType,ipoDate,delistingDate,status
+            AAPL,Apple Inc,NASDAQ,Stock,1980-12-12,null,Active
+            AA,Alcoa Corp,NYSE,Stock,2016-10-18,null,Active
+            AAL,"American Airlines Group, Inc",NASDAQ,Stock,2005-09-27,null,Active
+            MSFT,Microsoft Corporation,NASDAQ,Stock,1986-03-13,null,Active
+            TWTR,Twitter Inc,NYSE,Stock,2013-11-07,2022-11-08,Delisted
+            """;
+
+    @Test
+    public void testValidatesActiveSymbols() throws Exception {
+        SymbolDirectory directory = new SymbolDirectory();
+        assertFalse(directory.isLoaded());
+
+        directory.load(new StringReader(LISTING));
+
+        assertTrue(directory.isLoaded());
+        assertEquals(4, directory.size());
+        assertTrue(directory.contains("AAPL"));
+        assertTrue(directory.contains("msft"));
+        assertFalse(directory.contains("TWTR"));
+        assertFalse(directory.contains("AAP"));
+    }
+
+    @Test
+    public void testPrefixSearchReturnsSortedMatches() throws Exception {
+        SymbolDirectory directory = new SymbolDirectory();
+        directory.load(new StringReader(LISTING));
+
+        List<SymbolDTO> matches = directory.findByPrefix("aa", 10);
+
+        assertEquals(List.of("AA", "AAL", "AAPL"), matches.stream().map(SymbolDTO::getSymbol).toList());
+        assertEquals("American Airlines Group, Inc", matches.get(1).getName());
+        assertEquals(2, directory.findByPrefix("AA", 2).size());
+        assertTrue(directory.findByPrefix("ZZ", 10).isEmpty());
+    }
+
+    @Test
+    public void testReloadReplacesListing() throws Exception {
+        SymbolDirectory directory = new SymbolDirectory();
+        directory.load(new StringReader(LISTING));
+
+        directory.load(new StringReader("""
+                symbol,name,exchange,assetType,ipoDate,delistingDate,status
+                NVDA,NVIDIA Corp,NASDAQ,Stock,1999-01-22,null,Active
+                """));
+
+        assertTrue(directory.contains("NVDA"));
+        assertFalse(directory.contains("AAPL"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.finpro.FinancePro.service;
+
+import com.finpro.FinancePro.dto.Request.CreateTransactionBatchDTO;
+import com.finpro.FinancePro.dto.Request.CreateTransactionDTO;
+import com.finpro.FinancePro.dto.Request.TransactionBatchItemDTO;
+import com.finpro.FinancePro.entity.User;
+import com.finpro.FinancePro.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Throughput comparison between single-create and batch ingest.
+// Run with: mvn test -Dtest=TransactionBatchBenchmarkTest -Dbenchmark=true
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class TransactionBatchBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionBatchBenchmarkTest.class);
+
+    private static final int ROWS = 2000;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User benchmarkUser;
+
+    @BeforeEach
+    public void setUp() {
+        benchmarkUser = new User();
+        benchmarkUser.setEmail("bench" + System.currentTimeMillis() + "@example.com");
+        benchmarkUser.setFullName("Benchmark User " + System.currentTimeMillis());
+        benchmarkUser.setPassword("password");
+        benchmarkUser = userRepository.save(benchmarkUser);
+    }
+
+    @Test
+    public void compareSingleCreateWithBatchIngest() {
+        long singleStart = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            CreateTransactionDTO createDTO = new CreateTransactionDTO();
+            createDTO.setUserId(benchmarkUser.getId());
+            createDTO.setCategory("Benchmark");
+            createDTO.setAmount(1.0);
+            createDTO.setType("INCOME");
+            transactionService.createTransaction(createDTO);
+        }
+        double singleRowsPerSec = ROWS / ((System.nanoTime() - singleStart) / 1e9);
+
+        List<TransactionBatchItemDTO> items = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            TransactionBatchItemDTO item = new TransactionBatchItemDTO();
+            item.setCategory("Benchmark");
+            item.setAmount(1.0);
+            item.setType("INCOME");
+            items.add(item);
+        }
+        CreateTransactionBatchDTO batchDTO = new CreateTransactionBatchDTO();
+        batchDTO.setUserId(benchmarkUser.getId());
+        batchDTO.setTransactions(items);
+
+        long batchStart = System.nanoTime();
+        transactionService.createTransactionsBatch(batchDTO);
+        double batchRowsPerSec = ROWS / ((System.nanoTime() - batchStart) / 1e9);
+
+        logger.info("single create: {} rows/s, batch ingest: {} rows/s ({}x)", Math.round(singleRowsPerSec),
+                Math.round(batchRowsPerSec), String.format("%.1f", batchRowsPerSec / singleRowsPerSec));
+        assertTrue(batchRowsPerSec > 10 * singleRowsPerSec,
+                "Batch ingest should be more than 10x faster than single creates");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM transaction WHERE user_id = ?", benchmarkUser.getId());
+        userRepository.deleteById(benchmarkUser.getId());
+    }
+}
@@ -1,10 +1,15 @@
 package com.finpro.FinancePro.service;
 
+import com.finpro.FinancePro.dto.Request.CreateTransactionBatchDTO;
 import com.finpro.FinancePro.dto.Request.CreateTransactionDTO;
+import com.finpro.FinancePro.dto.Request.TransactionBatchItemDTO;
 import com.finpro.FinancePro.dto.Request.UpdateTransactionDTO;
+import com.finpro.FinancePro.dto.Response.TransactionBatchResponseDTO;
+import com.finpro.FinancePro.dto.Response.TransactionPageDTO;
 import com.finpro.FinancePro.dto.Response.TransactionResponseDTO;
 import com.finpro.FinancePro.entity.Transaction;
 import com.finpro.FinancePro.entity.User;
+import com.finpro.FinancePro.exception.InvalidRequestException;
 import com.finpro.FinancePro.exception.ResourceNotFoundException;
 import com.finpro.FinancePro.repository.TransactionRepository;
 import com.finpro.FinancePro.repository.UserRepository;
@@ -14,8 +19,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -150,6 +161,161 @@ public class TransactionServiceTest {
         assertTrue(totalIncome >= 0);
     }
 
+    @Test
+    public void testCalculateTotalsByType() {
+        Transaction expense = new Transaction();
+        expense.setUser(testUser);
+        expense.setCategory("Rent");
+        expense.setAmount(1200.0);
+        expense.setType("EXPENSE");
+        transactionRepository.save(expense);
+
+        Map<String, Double> totals = transactionService.calculateTotalsByType(testUser.getId());
+
+        assertEquals(transactionService.calculateIncomeSum(testUser.getId()), totals.get("INCOME"));
+        assertTrue(totals.get("INCOME") >= 5000.0);
+        assertTrue(totals.get("EXPENSE") >= 1200.0);
+    }
+
+    @Test
+    public void testGetTransactionsPageFollowsCursor() {
+        String category = "Paging " + System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setUser(testUser);
+            transaction.setCategory(category);
+            transaction.setAmount(10.0 * (i + 1));
+            transaction.setType("EXPENSE");
+            transactionRepository.save(transaction);
+        }
+
+        TransactionPageDTO firstPage = transactionService.getTransactionsPage(
+                testUser.getId(), null, 2, "expense", category, null, null, null, null);
+        assertEquals(2, firstPage.getTransactions().size());
+        assertTrue(firstPage.isHasMore());
+        assertNotNull(firstPage.getNextCursor());
+
+        TransactionPageDTO secondPage = transactionService.getTransactionsPage(
+                testUser.getId(), firstPage.getNextCursor(), 2, "EXPENSE", category, null, null, null, null);
+        TransactionPageDTO lastPage = transactionService.getTransactionsPage(
+                testUser.getId(), secondPage.getNextCursor(), 2, "EXPENSE", category, null, null, null, null);
+
+        assertEquals(2, secondPage.getTransactions().size());
+        assertEquals(1, lastPage.getTransactions().size());
+        assertFalse(lastPage.isHasMore());
+        assertNull(lastPage.getNextCursor());
+        assertTrue(secondPage.getTransactions().stream()
+                .noneMatch(t -> firstPage.getTransactions().stream().anyMatch(f -> f.getId().equals(t.getId()))));
+    }
+
+    @Test
+    public void testGetTransactionsPageFiltersByAmount() {
+        TransactionPageDTO page = transactionService.getTransactionsPage(
+                testUser.getId(), null, 100, "INCOME", null, 4999.0, 5001.0, null, null);
+
+        assertTrue(page.getTransactions().stream().anyMatch(t -> t.getId().equals(testTransaction.getId())));
+        assertTrue(page.getTransactions().stream().allMatch(t -> t.getAmount() >= 4999.0 && t.getAmount() <= 5001.0));
+    }
+
+    @Test
+    public void testGetTransactionsPageRejectsMalformedCursor() {
+        assertThrows(InvalidRequestException.class, () ->
+                transactionService.getTransactionsPage(testUser.getId(), "not-a-cursor", 10, null, null, null, null, null, null));
+    }
+
+    @Test
+    public void testExportTransactionsAsCsv() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        transactionService.exportTransactions(testUser.getId(), "csv", outputStream);
+
+        String csv = outputStream.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("id,createdAt,type,category,amount,description\n"));
+        assertTrue(csv.contains(testTransaction.getId() + ","));
+        assertTrue(csv.contains("Monthly Salary"));
+    }
+
+    @Test
+    public void testExportTransactionsAsNdjson() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        transactionService.exportTransactions(testUser.getId(), "ndjson", outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertTrue(lines.length >= 1);
+        assertTrue(lines[0].startsWith("{\"id\":"));
+        assertTrue(Arrays.stream(lines).anyMatch(line -> line.contains("\"id\":" + testTransaction.getId() + ",")));
+    }
+
+    @Test
+    public void testExportEmptyNdjsonWritesNothing() throws IOException {
+        User emptyUser = new User();
+        emptyUser.setEmail("export-empty@example.com");
+        emptyUser.setFullName("Empty Export User");
+        emptyUser = userRepository.save(emptyUser);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        transactionService.exportTransactions(emptyUser.getId(), "ndjson", outputStream);
+
+        assertEquals(0, outputStream.size());
+    }
+
+    @Test
+    public void testCreateTransactionsBatch() {
+        double incomeBefore = transactionService.calculateIncomeSum(testUser.getId());
+
+        List<TransactionBatchItemDTO> items = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            TransactionBatchItemDTO item = new TransactionBatchItemDTO();
+            item.setCategory("Dividends");
+            item.setAmount(10.0);
+            item.setType("INCOME");
+            item.setDescription("Batch row " + i);
+            items.add(item);
+        }
+        CreateTransactionBatchDTO batchDTO = new CreateTransactionBatchDTO();
+        batchDTO.setUserId(testUser.getId());
+        batchDTO.setTransactions(items);
+
+        TransactionBatchResponseDTO response = transactionService.createTransactionsBatch(batchDTO);
+
+        assertEquals(25, response.getInsertedCount());
+        assertEquals(250.0, response.getIncomeTotal());
+        assertEquals(0.0, response.getExpenseTotal());
+        assertEquals(incomeBefore + 250.0, transactionService.calculateIncomeSum(testUser.getId()), 0.001);
+    }
+
+    @Test
+    public void testCreateTransactionsBatchForUnknownUser() {
+        TransactionBatchItemDTO item = new TransactionBatchItemDTO();
+        item.setCategory("Dividends");
+        item.setAmount(10.0);
+        item.setType("INCOME");
+        CreateTransactionBatchDTO batchDTO = new CreateTransactionBatchDTO();
+        batchDTO.setUserId(Long.MAX_VALUE);
+        batchDTO.setTransactions(List.of(item));
+
+        assertThrows(ResourceNotFoundException.class, () -> transactionService.createTransactionsBatch(batchDTO));
+    }
+
+    @Test
+    public void testCreateTransactionsBatchNormalizesAndValidatesType() {
+        TransactionBatchItemDTO item = new TransactionBatchItemDTO();
+        item.setCategory("Dividends");
+        item.setAmount(10.0);
+        item.setType("income");
+        CreateTransactionBatchDTO batchDTO = new CreateTransactionBatchDTO();
+        batchDTO.setUserId(testUser.getId());
+        batchDTO.setTransactions(List.of(item));
+
+        TransactionBatchResponseDTO response = transactionService.createTransactionsBatch(batchDTO);
+        assertEquals(10.0, response.getIncomeTotal());
+        assertEquals("INCOME", item.getType());
+
+        item.setType("TRANSFER");
+        assertThrows(InvalidRequestException.class, () -> transactionService.createTransactionsBatch(batchDTO));
+    }
+
     @Test
     public void testGetTransactionNotFound() {
         assertThrows(ResourceNotFoundException.class, () -> {
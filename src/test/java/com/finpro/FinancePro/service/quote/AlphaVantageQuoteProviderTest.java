@@ -0,0 +1,104 @@
+package com.finpro.FinancePro.service.quote;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finpro.FinancePro.exception.QuoteThrottledException;
+import com.finpro.FinancePro.exception.ResourceNotFoundException;
+import com.finpro.FinancePro.exception.StockApiException;
+import com.finpro.FinancePro.util.AlphaVantageApiUtil;
+import com.finpro.FinancePro.util.AlphaVantageResponseParser;
+import com.finpro.FinancePro.util.RateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class AlphaVantageQuoteProviderTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private AlphaVantageApiUtil alphaVantageApiUtil;
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @InjectMocks
+    private AlphaVantageQuoteProvider provider;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(provider, "responseParser", new AlphaVantageResponseParser(new ObjectMapper()));
+        when(alphaVantageApiUtil.buildStockQuoteUrl(anyString())).thenReturn("https://example.test/query");
+    }
+
+    @Test
+    public void testDailyLimitNoticeExhaustsDailyQuota() {
+        respondWith("{\"Information\": \"Thank you for using Alpha Vantage! Our standard API rate limit is "
+                + "25 requests per day.\"}");
+
+        assertThrows(QuoteThrottledException.class, () -> provider.fetchQuote("IBM"));
+        verify(rateLimiter).markDailyExhausted();
+        verify(rateLimiter, never()).markMinuteExhausted();
+    }
+
+    @Test
+    public void testBurstNoticeOnlyPausesTheMinuteWindow() {
+        respondWith("{\"Information\": \"Thank you for using Alpha Vantage! Please consider spreading out your "
+                + "free API requests more sparingly (1 request per second).\"}");
+
+        assertThrows(QuoteThrottledException.class, () -> provider.fetchQuote("IBM"));
+        verify(rateLimiter).markMinuteExhausted();
+        verify(rateLimiter, never()).markDailyExhausted();
+    }
+
+    @Test
+    public void testPremiumOrKeyNoticeIsAFailureNotAThrottle() {
+        respondWith("{\"Information\": \"Thank you for using Alpha Vantage! This is a premium endpoint.\"}");
+
+        StockApiException exception = assertThrows(StockApiException.class, () -> provider.fetchQuote("IBM"));
+        assertFalse(exception instanceof QuoteThrottledException);
+        verify(rateLimiter, never()).markMinuteExhausted();
+        verify(rateLimiter, never()).markDailyExhausted();
+    }
+
+    @Test
+    public void testEmptySeriesIsTransientNotUnknownSymbol() {
+        respondWith("{\"Meta Data\": {\"2. Symbol\": \"IBM\"}, \"Time Series (5min)\": {}}");
+
+        StockApiException exception = assertThrows(StockApiException.class, () -> provider.fetchQuote("IBM"));
+        assertFalse(exception instanceof QuoteThrottledException);
+    }
+
+    @Test
+    public void testErrorMessageIsUnknownSymbol() {
+        respondWith("{\"Error Message\": \"Invalid API call. Please retry or visit the documentation.\"}");
+
+        assertThrows(ResourceNotFoundException.class, () -> provider.fetchQuote("NOPE"));
+    }
+
+    private void respondWith(String json) {
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> {
+                    ResponseExtractor<?> extractor = invocation.getArgument(3);
+                    return extractor.extractData(new MockClientHttpResponse(
+                            json.getBytes(StandardCharsets.UTF_8), HttpStatus.OK));
+                });
+    }
+}
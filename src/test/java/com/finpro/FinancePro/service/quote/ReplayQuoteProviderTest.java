@@ -0,0 +1,86 @@
+package com.finpro.FinancePro.service.quote;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finpro.FinancePro.dto.Response.StockQuoteDTO;
+import com.finpro.FinancePro.exception.ResourceNotFoundException;
+import com.finpro.FinancePro.exception.StockApiException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplayQuoteProviderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path recordingDir;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        StockQuoteDTO recorded = new StockQuoteDTO();
+        recorded.setSymbol("IBM");
+        recorded.setCurrentPrice(161.25);
+        recorded.setChange(1.25);
+        recorded.setChangePercent(0.78);
+        recorded.setHigh(162.0);
+        recorded.setLow(160.5);
+        recorded.setVolume(12345L);
+        recorded.setAsOf(Instant.parse("2024-01-02T21:00:00Z"));
+        objectMapper.writeValue(QuoteRecording.fileFor(recordingDir, "IBM").toFile(), new QuoteRecording(recorded, 120));
+    }
+
+    @Test
+    public void testReplaysRecordedQuoteWithRecordedLatency() {
+        ReplayQuoteProvider provider = new ReplayQuoteProvider(objectMapper, recordingDir.toString(), -1, 0, 0.0, false);
+
+        long start = System.nanoTime();
+        StockQuoteDTO quote = provider.fetchQuote("IBM");
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(161.25, quote.getCurrentPrice());
+        assertTrue(elapsedMs >= 120, "replay should wait the recorded latency, took " + elapsedMs + "ms");
+        // Stamped as fetched now, not when it was recorded
+        assertTrue(quote.getAsOf().isAfter(Instant.parse("2024-01-02T21:00:00Z")));
+        assertFalse(provider.isRemote());
+    }
+
+    @Test
+    public void testUnrecordedSymbolIsNotFound() {
+        ReplayQuoteProvider provider = new ReplayQuoteProvider(objectMapper, recordingDir.toString(), 0, 0, 0.0, false);
+
+        assertThrows(ResourceNotFoundException.class, () -> provider.fetchQuote("MSFT"));
+    }
+
+    @Test
+    public void testRecordingAddedAfterMissIsServed() throws Exception {
+        ReplayQuoteProvider provider = new ReplayQuoteProvider(objectMapper, recordingDir.toString(), 0, 0, 0.0, false);
+        assertThrows(ResourceNotFoundException.class, () -> provider.fetchQuote("MSFT"));
+
+        StockQuoteDTO recorded = new StockQuoteDTO();
+        recorded.setSymbol("MSFT");
+        recorded.setCurrentPrice(410.0);
+        recorded.setAsOf(Instant.parse("2024-01-02T21:00:00Z"));
+        objectMapper.writeValue(QuoteRecording.fileFor(recordingDir, "MSFT").toFile(), new QuoteRecording(recorded, 0));
+
+        assertEquals(410.0, provider.fetchQuote("MSFT").getCurrentPrice());
+    }
+
+    @Test
+    public void testGuardedReplayIsRemote() {
+        ReplayQuoteProvider provider = new ReplayQuoteProvider(objectMapper, recordingDir.toString(), 0, 0, 0.0, true);
+
+        assertTrue(provider.isRemote());
+    }
+
+    @Test
+    public void testErrorInjection() {
+        ReplayQuoteProvider provider = new ReplayQuoteProvider(objectMapper, recordingDir.toString(), 0, 0, 1.0, false);
+
+        assertThrows(StockApiException.class, () -> provider.fetchQuote("IBM"));
+    }
+}
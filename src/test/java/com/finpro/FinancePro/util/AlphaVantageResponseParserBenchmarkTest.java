@@ -0,0 +1,84 @@
+package com.finpro.FinancePro.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Bytes allocated and time per parse: full Map deserialization vs the streaming parser, on a
+// 100-bar TIME_SERIES_INTRADAY payload (the size of a compact response).
+// Run with: mvn test -Dtest=AlphaVantageResponseParserBenchmarkTest -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class AlphaVantageResponseParserBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlphaVantageResponseParserBenchmarkTest.class);
+
+    private static final int WARMUP = 5000;
+    private static final int ITERATIONS = 20000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AlphaVantageResponseParser parser = new AlphaVantageResponseParser(objectMapper);
+    private final com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    public void compareMapParseWithStreamingParse() throws Exception {
+        byte[] payload = intradayPayload(100);
+
+        long[] mapResult = measure(() -> objectMapper.readValue(payload, Map.class));
+        long[] streamingResult = measure(() -> parser.parse(new ByteArrayInputStream(payload)));
+
+        logger.info("map parse: {} B/op, {} ns/op; streaming parse: {} B/op, {} ns/op",
+                mapResult[0], mapResult[1], streamingResult[0], streamingResult[1]);
+        assertTrue(streamingResult[0] < mapResult[0], "Streaming parse should allocate less than the Map parse");
+    }
+
+    private interface Parse {
+        Object run() throws Exception;
+    }
+
+    // Returns {bytes allocated per op, nanoseconds per op}
+    private long[] measure(Parse parse) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            parse.run();
+        }
+        long threadId = Thread.currentThread().threadId();
+        long bytesBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        Object sink = null;
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = parse.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = threadBean.getThreadAllocatedBytes(threadId) - bytesBefore;
+        assertNotNull(sink);
+        return new long[]{bytes / ITERATIONS, elapsed / ITERATIONS};
+    }
+
+    private byte[] intradayPayload(int bars) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"Meta Data\": {\"1. Information\": \"Intraday (5min) open, high, low, close prices and volume\",")
+                .append("\"2. Symbol\": \"IBM\", \"3. Last Refreshed\": \"2024-01-02 19:55:00\",")
+                .append("\"4. Interval\": \"5min\", \"5. Output Size\": \"Compact\", \"6. Time Zone\": \"US/Eastern\"},")
+                .append("\"Time Series (5min)\": {");
+        // Newest first, as Alpha Vantage sends it
+        for (int i = 0; i < bars; i++) {
+            int minutes = 19 * 60 + 55 - i * 5;
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(String.format("\"2024-01-02 %02d:%02d:00\": {\"1. open\": \"161.%04d\", \"2. high\": \"162.0000\",",
+                            minutes / 60, minutes % 60, i))
+                    .append("\"3. low\": \"160.5000\", \"4. close\": \"161.2500\", \"5. volume\": \"12345\"}");
+        }
+        json.append("}}");
+        return json.toString().getBytes();
+    }
+}
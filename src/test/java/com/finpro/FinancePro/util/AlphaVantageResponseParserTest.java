@@ -0,0 +1,90 @@
+package com.finpro.FinancePro.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finpro.FinancePro.util.AlphaVantageResponseParser.Bar;
+import com.finpro.FinancePro.util.AlphaVantageResponseParser.InformationKind;
+import com.finpro.FinancePro.util.AlphaVantageResponseParser.ParsedResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AlphaVantageResponseParserTest {
+
+    private final AlphaVantageResponseParser parser = new AlphaVantageResponseParser(new ObjectMapper());
+
+    @Test
+    public void testNewestBarIsChosenByTimestamp() throws Exception {
+        // Newest bar listed last and no metadata to go by
+        ParsedResponse response = parse("""
+                {"Time Series (5min)": {
+                  "2024-01-02 15:50:00": {"1. open": "1", "2. high": "1", "3. low": "1", "4. close": "1", "5. volume": "1"},
+                  "2024-01-02 16:00:00": {"1. open": "100.00", "2. high": "102.00", "3. low": "99.00", "4. close": "101.00", "5. volume": "1000"},
+                  "2024-01-02 15:55:00": {"1. open": "2", "2. high": "2", "3. low": "2", "4. close": "2", "5. volume": "2"}
+                }}
+                """);
+
+        Bar bar = response.getBar();
+        assertEquals("2024-01-02 16:00:00", bar.timestamp());
+        assertEquals(100.0, bar.open());
+        assertEquals(101.0, bar.close());
+        assertEquals(1000L, bar.volume());
+        assertNull(bar.previousClose());
+    }
+
+    @Test
+    public void testParsingStopsAtLastRefreshedBar() throws Exception {
+        // Anything after the bar named in the metadata is never read
+        ParsedResponse response = parse("""
+                {"Meta Data": {"3. Last Refreshed": "2024-01-02 16:00:00"},
+                 "Time Series (5min)": {
+                  "2024-01-02 16:00:00": {"1. open": "100.00", "2. high": "102.00", "3. low": "99.00", "4. close": "101.00", "5. volume": "1000"},
+                  "2099-01-01 00:00:00": {"4. close": "not a number"}
+                """);
+
+        assertEquals(101.0, response.getBar().close());
+    }
+
+    @Test
+    public void testGlobalQuote() throws Exception {
+        ParsedResponse response = parse("""
+                {"Global Quote": {"01. symbol": "IBM", "02. open": "100.00", "03. high": "103.00", "04. low": "99.50",
+                  "05. price": "102.00", "06. volume": "5000", "07. latest trading day": "2024-01-02",
+                  "08. previous close": "100.50", "09. change": "1.50", "10. change percent": "1.4925%"}}
+                """);
+
+        Bar bar = response.getBar();
+        assertEquals(102.0, bar.close());
+        assertEquals(100.5, bar.previousClose());
+        assertEquals("2024-01-02", bar.timestamp());
+    }
+
+    @Test
+    public void testErrorAndQuotaResponses() throws Exception {
+        assertNull(parse("{\"Global Quote\": {}}").getBar());
+        assertEquals("Invalid API call.", parse("{\"Error Message\": \"Invalid API call.\"}").getErrorMessage());
+        assertNotNull(parse("{\"Note\": \"Thank you for using Alpha Vantage!\"}").getNote());
+        assertNotNull(parse("{\"Information\": \"daily rate limit\"}").getInformation());
+    }
+
+    @Test
+    public void testInformationNoticesAreClassified() throws Exception {
+        assertEquals(InformationKind.DAILY_LIMIT, parse("{\"Information\": \"Thank you for using Alpha Vantage! "
+                + "Our standard API rate limit is 25 requests per day. Please subscribe to any of the premium plans "
+                + "to instantly remove all daily rate limits.\"}").getInformationKind());
+        assertEquals(InformationKind.BURST_LIMIT, parse("{\"Information\": \"Thank you for using Alpha Vantage! "
+                + "Please consider spreading out your free API requests more sparingly (1 request per second).\"}")
+                .getInformationKind());
+        assertEquals(InformationKind.OTHER, parse("{\"Information\": \"Thank you for using Alpha Vantage! "
+                + "This is a premium endpoint.\"}").getInformationKind());
+        assertEquals(InformationKind.OTHER, parse("{\"Information\": \"The **demo** API key is for demo "
+                + "purposes only. Please claim your free API key.\"}").getInformationKind());
+        assertNull(parse("{\"Note\": \"Thank you for using Alpha Vantage!\"}").getInformationKind());
+    }
+
+    private ParsedResponse parse(String json) throws Exception {
+        return parser.parse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
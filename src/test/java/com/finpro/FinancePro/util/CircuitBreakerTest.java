@@ -0,0 +1,123 @@
+package com.finpro.FinancePro.util;
+
+import com.finpro.FinancePro.util.CircuitBreaker.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CircuitBreakerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void testOpensAfterConsecutiveFailuresAndRejects() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 3, 1000, 60000, 1, meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            CircuitBreaker.Permit permit = breaker.tryAcquirePermission();
+            assertNotNull(permit);
+            breaker.onFailure(permit);
+        }
+
+        assertEquals(State.OPEN, breaker.getState());
+        assertNull(breaker.tryAcquirePermission());
+        assertEquals(1.0, meterRegistry.get("circuit.breaker.rejections").tag("name", "test").counter().count());
+    }
+
+    @Test
+    public void testSlowCallsCountAsFailures() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, 100, 60000, 1, meterRegistry);
+
+        breaker.onSuccess(breaker.tryAcquirePermission(), TimeUnit.MILLISECONDS.toNanos(500));
+        breaker.onSuccess(breaker.tryAcquirePermission(), TimeUnit.MILLISECONDS.toNanos(500));
+
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void testHalfOpenProbeClosesOrReopens() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 1000, 50, 1, meterRegistry);
+        breaker.onFailure(breaker.tryAcquirePermission());
+        assertEquals(State.OPEN, breaker.getState());
+
+        // After the open duration one probe is allowed through
+        Thread.sleep(60);
+        CircuitBreaker.Permit probe = breaker.tryAcquirePermission();
+        assertNotNull(probe);
+        assertTrue(probe.probe());
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        assertNull(breaker.tryAcquirePermission());
+
+        // A failed probe opens the circuit again
+        breaker.onFailure(probe);
+        assertEquals(State.OPEN, breaker.getState());
+
+        // A healthy probe closes it
+        Thread.sleep(60);
+        breaker.onSuccess(breaker.tryAcquirePermission(), TimeUnit.MILLISECONDS.toNanos(10));
+        assertEquals(State.CLOSED, breaker.getState());
+        assertNotNull(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void testLateCallFromClosedStateDoesNotTouchProbes() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 1000, 50, 1, meterRegistry);
+        CircuitBreaker.Permit slowCall = breaker.tryAcquirePermission();
+        CircuitBreaker.Permit late = breaker.tryAcquirePermission();
+        breaker.onFailure(slowCall);
+        assertEquals(State.OPEN, breaker.getState());
+
+        Thread.sleep(60);
+        CircuitBreaker.Permit probe = breaker.tryAcquirePermission();
+        assertNotNull(probe);
+
+        // The call let through while closed finishes now; it neither frees the probe slot nor closes the circuit
+        breaker.onIgnored(late);
+        assertNull(breaker.tryAcquirePermission());
+        breaker.onSuccess(late, TimeUnit.MILLISECONDS.toNanos(10));
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        assertNull(breaker.tryAcquirePermission());
+
+        // The probe itself still decides
+        breaker.onIgnored(probe);
+        CircuitBreaker.Permit nextProbe = breaker.tryAcquirePermission();
+        assertNotNull(nextProbe);
+        breaker.onSuccess(nextProbe, TimeUnit.MILLISECONDS.toNanos(10));
+        assertEquals(State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void testProbeFromEarlierHalfOpenRoundIsNotCounted() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 1000, 50, 2, meterRegistry);
+        breaker.onFailure(breaker.tryAcquirePermission());
+
+        Thread.sleep(60);
+        CircuitBreaker.Permit slowProbe = breaker.tryAcquirePermission();
+        // The other probe fails and reopens the circuit before the first one reports back
+        breaker.onFailure(breaker.tryAcquirePermission());
+        assertEquals(State.OPEN, breaker.getState());
+
+        Thread.sleep(60);
+        assertNotNull(breaker.tryAcquirePermission());
+        breaker.onIgnored(slowProbe);
+        assertNotNull(breaker.tryAcquirePermission());
+        assertNull(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void testRejectsCallsDoesNotReserveProbe() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 1000, 50, 1, meterRegistry);
+        breaker.onFailure(breaker.tryAcquirePermission());
+        assertTrue(breaker.rejectsCalls());
+
+        Thread.sleep(60);
+        assertFalse(breaker.rejectsCalls());
+        assertFalse(breaker.rejectsCalls());
+        CircuitBreaker.Permit probe = breaker.tryAcquirePermission();
+        assertNotNull(probe);
+        assertTrue(breaker.rejectsCalls());
+    }
+}
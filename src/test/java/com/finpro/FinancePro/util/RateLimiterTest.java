@@ -0,0 +1,64 @@
+package com.finpro.FinancePro.util;
+
+import com.finpro.FinancePro.util.RateLimiter.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void testDailyLimitIsEnforced() {
+        RateLimiter rateLimiter = new RateLimiter(10, 3, meterRegistry);
+
+        assertTrue(rateLimiter.tryAcquire(Priority.INTERACTIVE, 0));
+        assertTrue(rateLimiter.tryAcquire(Priority.INTERACTIVE, 0));
+        assertTrue(rateLimiter.tryAcquire(Priority.INTERACTIVE, 0));
+        assertFalse(rateLimiter.tryAcquire(Priority.INTERACTIVE, 1000));
+
+        double dayRemaining = meterRegistry.get("alphavantage.quota.remaining").tag("window", "day").gauge().value();
+        assertEquals(0.0, dayRemaining);
+    }
+
+    @Test
+    public void testMinuteWindowLimitsBurst() {
+        // One request per minute
+        RateLimiter rateLimiter = new RateLimiter(60000, 100, meterRegistry);
+
+        assertTrue(rateLimiter.tryAcquire(Priority.INTERACTIVE, 0));
+        assertFalse(rateLimiter.tryAcquire(Priority.INTERACTIVE, 50));
+        assertEquals(99, rateLimiter.getDailyRemaining());
+    }
+
+    @Test
+    public void testInteractiveRequestsOutrankBackground() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(300, 100, meterRegistry);
+        rateLimiter.markMinuteExhausted();
+
+        List<Priority> acquired = new CopyOnWriteArrayList<>();
+        Thread background = Thread.ofVirtual().start(() -> {
+            if (rateLimiter.tryAcquire(Priority.BACKGROUND, 5000)) {
+                acquired.add(Priority.BACKGROUND);
+            }
+        });
+        // Make sure the background request is queued first
+        while (rateLimiter.getWaiterCount() < 1) {
+            Thread.sleep(5);
+        }
+        Thread interactive = Thread.ofVirtual().start(() -> {
+            if (rateLimiter.tryAcquire(Priority.INTERACTIVE, 5000)) {
+                acquired.add(Priority.INTERACTIVE);
+            }
+        });
+
+        background.join();
+        interactive.join();
+        assertEquals(List.of(Priority.INTERACTIVE, Priority.BACKGROUND), acquired);
+    }
+}
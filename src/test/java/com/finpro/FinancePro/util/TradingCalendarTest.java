@@ -0,0 +1,63 @@
+package com.finpro.FinancePro.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TradingCalendarTest {
+
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+    private static final long TTL = 300000;
+
+    private final TradingCalendar calendar =
+            new TradingCalendar(true, "America/New_York", "09:30", "16:00", 15, "2026-07-03");
+
+    @Test
+    public void testSessionIncludesSettleWindowAfterClose() {
+        // Wednesday 2026-07-01
+        assertFalse(calendar.isOpen(at(2026, 7, 1, 9, 29)));
+        assertTrue(calendar.isOpen(at(2026, 7, 1, 9, 30)));
+        assertTrue(calendar.isOpen(at(2026, 7, 1, 16, 10)));
+        assertFalse(calendar.isOpen(at(2026, 7, 1, 16, 15)));
+    }
+
+    @Test
+    public void testQuoteFetchedDuringSessionUsesFlatTtl() {
+        Instant fetchedAt = at(2026, 7, 1, 11, 0);
+
+        assertEquals(fetchedAt.toEpochMilli() + TTL, calendar.freshUntil(fetchedAt.toEpochMilli(), TTL));
+    }
+
+    @Test
+    public void testQuoteFetchedAfterCloseStaysFreshUntilNextOpen() {
+        Instant fetchedAt = at(2026, 7, 1, 20, 0);
+
+        assertEquals(at(2026, 7, 2, 9, 30).toEpochMilli(), calendar.freshUntil(fetchedAt.toEpochMilli(), TTL));
+    }
+
+    @Test
+    public void testWeekendAndHolidayAreSkipped() {
+        // Thursday evening before the Friday 2026-07-03 holiday; next session is Monday
+        Instant fetchedAt = at(2026, 7, 2, 18, 0);
+
+        assertEquals(at(2026, 7, 6, 9, 30), calendar.nextOpen(fetchedAt));
+        assertEquals(at(2026, 7, 2, 16, 15), calendar.lastSessionEnd(at(2026, 7, 5, 12, 0)));
+    }
+
+    @Test
+    public void testDisabledCalendarIsAlwaysOpen() {
+        TradingCalendar disabled = new TradingCalendar(false, "America/New_York", "09:30", "16:00", 15, "");
+        Instant sunday = at(2026, 7, 5, 12, 0);
+
+        assertTrue(disabled.isOpen(sunday));
+        assertEquals(sunday.toEpochMilli() + TTL, disabled.freshUntil(sunday.toEpochMilli(), TTL));
+    }
+
+    private static Instant at(int year, int month, int day, int hour, int minute) {
+        return ZonedDateTime.of(year, month, day, hour, minute, 0, 0, NEW_YORK).toInstant();
+    }
+}